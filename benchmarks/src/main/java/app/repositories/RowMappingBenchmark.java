@@ -0,0 +1,64 @@
+package app.repositories;
+
+import app.entity.VendorEntity;
+import benchmarks.stubs.StubResultSets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vendor row mapping over an in-memory result set: index-based row mapper against
+ * the former lookup by column label on every row into a LinkedList.
+ * Lives in the repository package to reach the package-private row mappers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMappingBenchmark {
+    @Param({"10", "1000"})
+    private int rowCount;
+
+    private ResultSet resultSet;
+
+    @Setup
+    public void setUp() {
+        Object[][] rows = new Object[rowCount][];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = new Object[]{i + 1, "Vendor " + i, i + " Main St"};
+        }
+        resultSet = StubResultSets.of(List.of("id", "name", "address"), rows);
+    }
+
+    @Benchmark
+    public List<VendorEntity> rowMapper() throws SQLException {
+        resultSet.beforeFirst();
+        return AbstractRepository.readAll(resultSet, VendorRepository.ROW_MAPPER, rowCount);
+    }
+
+    @Benchmark
+    public List<VendorEntity> labelLookupBaseline() throws SQLException {
+        resultSet.beforeFirst();
+        List<VendorEntity> result = new LinkedList<>();
+        while (resultSet.next()) {
+            result.add(new VendorEntity(resultSet.getInt("id"), resultSet.getString("name"), resultSet.getString("address")));
+        }
+        return result;
+    }
+}
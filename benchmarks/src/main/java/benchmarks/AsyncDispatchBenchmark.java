@@ -0,0 +1,123 @@
+package benchmarks;
+
+import controllerlib.internal.controller.instances.ControllerInstanceProvider;
+import controllerlib.internal.controller.method.adapters.ControllerMethodAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Requests per second of a controller method waiting on slow I/O, with a fixed pool of container threads.
+ * Every invocation sends REQUESTS requests at once and waits until all are answered.
+ * <p>
+ * blockingDoGet holds a container thread for the whole wait, like the synchronous doGet path, so throughput is
+ * bounded by containerThreads / ioMillis. virtualThread and completionStage return the container thread at once,
+ * like the servlet async path, and are bounded by maxConcurrency of the method and by the timer respectively.
+ * On Java 17 virtualThread measures the platform thread fallback of
+ * {@link controllerlib.exposed.annotations.VirtualThreadExecution}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsyncDispatchBenchmark {
+    /**
+     * Below maxConcurrency plus the queue of the platform thread fallback, so no request is rejected on Java 17
+     */
+    private static final int REQUESTS = 1000;
+
+    @Param({"32", "200"})
+    private int containerThreads;
+
+    @Param({"5"})
+    private int ioMillis;
+
+    private ExecutorService container;
+    private ControllerMethodAdapter blockingAdapter;
+    private ControllerMethodAdapter virtualThreadAdapter;
+    private ControllerMethodAdapter completionStageAdapter;
+    private Object[] parameters;
+    private final LongAdder failures = new LongAdder();
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        container = Executors.newFixedThreadPool(containerThreads);
+        ControllerInstanceProvider instanceProvider = ControllerInstanceProvider.createFor(SlowIoBenchmarkController.class);
+        blockingAdapter = new ControllerMethodAdapter(instanceProvider,
+                SlowIoBenchmarkController.class.getMethod("blocking", int.class));
+        virtualThreadAdapter = new ControllerMethodAdapter(instanceProvider,
+                SlowIoBenchmarkController.class.getMethod("virtualThread", int.class));
+        completionStageAdapter = new ControllerMethodAdapter(instanceProvider,
+                SlowIoBenchmarkController.class.getMethod("completionStage", int.class));
+        parameters = new Object[]{ioMillis};
+    }
+
+    @TearDown
+    public void tearDown() {
+        container.shutdown();
+        virtualThreadAdapter.shutdown();
+        if (failures.sum() > 0) {
+            throw new IllegalStateException(failures.sum() + " requests failed");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void blockingDoGet() throws InterruptedException {
+        CountDownLatch answered = new CountDownLatch(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            container.execute(() -> {
+                try {
+                    blockingAdapter.invoke(parameters);
+                } catch (RuntimeException e) {
+                    failures.increment();
+                }
+                answered.countDown();
+            });
+        }
+        answered.await();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void virtualThread() throws InterruptedException {
+        dispatchAsync(virtualThreadAdapter);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void completionStage() throws InterruptedException {
+        dispatchAsync(completionStageAdapter);
+    }
+
+    private void dispatchAsync(ControllerMethodAdapter adapter) throws InterruptedException {
+        CountDownLatch answered = new CountDownLatch(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            container.execute(() -> adapter.invokeAsync(parameters).whenComplete((result, error) -> {
+                if (error != null) {
+                    failures.increment();
+                }
+                answered.countDown();
+            }));
+        }
+        answered.await();
+    }
+}
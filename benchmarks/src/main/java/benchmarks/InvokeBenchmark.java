@@ -0,0 +1,61 @@
+package benchmarks;
+
+import controllerlib.exposed.ControllerResult;
+import controllerlib.internal.controller.instances.ControllerInstanceProvider;
+import controllerlib.internal.controller.method.adapters.ControllerMethodAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ControllerMethodAdapter.invoke with singleton and per-request controllers.
+ * reflectiveBaseline is the former dispatch: new instance through reflection and Method.invoke on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvokeBenchmark {
+    private ControllerMethodAdapter singletonAdapter;
+    private ControllerMethodAdapter perRequestAdapter;
+    private Method method;
+    private Object[] parameters;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        method = SingletonBenchmarkController.class.getMethod("get", int.class);
+        singletonAdapter = new ControllerMethodAdapter(
+                ControllerInstanceProvider.createFor(SingletonBenchmarkController.class), method);
+        perRequestAdapter = new ControllerMethodAdapter(
+                ControllerInstanceProvider.createFor(PerRequestBenchmarkController.class), method);
+        parameters = new Object[]{42};
+    }
+
+    @Benchmark
+    public ControllerResult<?> singletonController() {
+        return singletonAdapter.invoke(parameters);
+    }
+
+    @Benchmark
+    public ControllerResult<?> perRequestController() {
+        return perRequestAdapter.invoke(parameters);
+    }
+
+    @Benchmark
+    public Object reflectiveBaseline() throws ReflectiveOperationException {
+        Object controller = PerRequestBenchmarkController.class.getConstructor().newInstance();
+        return method.invoke(controller, parameters);
+    }
+}
@@ -0,0 +1,333 @@
+package benchmarks;
+
+import controllerlib.exposed.BaseController;
+import controllerlib.exposed.ControllerResult;
+import controllerlib.exposed.annotations.HttpGet;
+import controllerlib.exposed.annotations.RequiredQueryParam;
+
+/**
+ * Controller with {@value OVERLOAD_COUNT} GET overloads, method mN requires query parameter pN
+ */
+public class ManyOverloadsController extends BaseController {
+    public static final int OVERLOAD_COUNT = 64;
+
+    @HttpGet
+    public ControllerResult<Integer> m0(@RequiredQueryParam("p0") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m1(@RequiredQueryParam("p1") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m2(@RequiredQueryParam("p2") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m3(@RequiredQueryParam("p3") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m4(@RequiredQueryParam("p4") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m5(@RequiredQueryParam("p5") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m6(@RequiredQueryParam("p6") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m7(@RequiredQueryParam("p7") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m8(@RequiredQueryParam("p8") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m9(@RequiredQueryParam("p9") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m10(@RequiredQueryParam("p10") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m11(@RequiredQueryParam("p11") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m12(@RequiredQueryParam("p12") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m13(@RequiredQueryParam("p13") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m14(@RequiredQueryParam("p14") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m15(@RequiredQueryParam("p15") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m16(@RequiredQueryParam("p16") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m17(@RequiredQueryParam("p17") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m18(@RequiredQueryParam("p18") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m19(@RequiredQueryParam("p19") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m20(@RequiredQueryParam("p20") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m21(@RequiredQueryParam("p21") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m22(@RequiredQueryParam("p22") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m23(@RequiredQueryParam("p23") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m24(@RequiredQueryParam("p24") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m25(@RequiredQueryParam("p25") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m26(@RequiredQueryParam("p26") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m27(@RequiredQueryParam("p27") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m28(@RequiredQueryParam("p28") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m29(@RequiredQueryParam("p29") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m30(@RequiredQueryParam("p30") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m31(@RequiredQueryParam("p31") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m32(@RequiredQueryParam("p32") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m33(@RequiredQueryParam("p33") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m34(@RequiredQueryParam("p34") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m35(@RequiredQueryParam("p35") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m36(@RequiredQueryParam("p36") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m37(@RequiredQueryParam("p37") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m38(@RequiredQueryParam("p38") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m39(@RequiredQueryParam("p39") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m40(@RequiredQueryParam("p40") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m41(@RequiredQueryParam("p41") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m42(@RequiredQueryParam("p42") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m43(@RequiredQueryParam("p43") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m44(@RequiredQueryParam("p44") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m45(@RequiredQueryParam("p45") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m46(@RequiredQueryParam("p46") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m47(@RequiredQueryParam("p47") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m48(@RequiredQueryParam("p48") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m49(@RequiredQueryParam("p49") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m50(@RequiredQueryParam("p50") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m51(@RequiredQueryParam("p51") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m52(@RequiredQueryParam("p52") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m53(@RequiredQueryParam("p53") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m54(@RequiredQueryParam("p54") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m55(@RequiredQueryParam("p55") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m56(@RequiredQueryParam("p56") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m57(@RequiredQueryParam("p57") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m58(@RequiredQueryParam("p58") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m59(@RequiredQueryParam("p59") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m60(@RequiredQueryParam("p60") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m61(@RequiredQueryParam("p61") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m62(@RequiredQueryParam("p62") int value) {
+        return Ok(value);
+    }
+
+    @HttpGet
+    public ControllerResult<Integer> m63(@RequiredQueryParam("p63") int value) {
+        return Ok(value);
+    }
+}
@@ -0,0 +1,58 @@
+package benchmarks;
+
+import benchmarks.stubs.StubRequests;
+import controllerlib.internal.controller.instances.ControllerInstanceProvider;
+import controllerlib.internal.controller.method.adapters.ControllerMethodAdapter;
+import controllerlib.internal.controller.method.adapters.ControllerMethodAdaptersContainer;
+import controllerlib.exposed.exceptions.AmbiguousRequestException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ControllerMethodAdaptersContainer.chooseMethodAdapter with growing number of overloads.
+ * Counts up to 12 use the precomputed lookup table, larger counts the sorted scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OverloadSelectionBenchmark {
+    @Param({"1", "4", "12", "64"})
+    private int overloadCount;
+
+    private ControllerMethodAdaptersContainer container;
+    private HttpServletRequest request;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        var instanceProvider = ControllerInstanceProvider.createFor(ManyOverloadsController.class);
+        container = new ControllerMethodAdaptersContainer();
+        for (int i = 0; i < overloadCount; i++) {
+            container.addMethod(instanceProvider, ManyOverloadsController.class.getMethod("m" + i, int.class));
+        }
+        // The last added overload is the worst case for a scan
+        request = StubRequests.withQuery(Map.of(
+                "p" + (overloadCount - 1), new String[]{"1"},
+                "unknown", new String[]{"x"}));
+    }
+
+    @Benchmark
+    public ControllerMethodAdapter chooseMethodAdapter() throws AmbiguousRequestException {
+        return container.chooseMethodAdapter(request);
+    }
+}
@@ -0,0 +1,76 @@
+package benchmarks;
+
+import benchmarks.stubs.StubRequests;
+import controllerlib.exposed.annotations.FromRequestBody;
+import controllerlib.exposed.annotations.RequiredQueryParam;
+import controllerlib.exposed.exceptions.ControllerMethodParameterMappingException;
+import controllerlib.internal.TypeUtils;
+import controllerlib.internal.controller.method.parameters.adapters.RequestBodyParameterAdapter;
+import controllerlib.internal.controller.method.parameters.adapters.RequiredQueryParameterAdapter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Parameter;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of query parameters and JSON request bodies to controller method arguments
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterBindingBenchmark {
+    @Param({"1", "100"})
+    private int bodyElementCount;
+
+    private RequiredQueryParameterAdapter queryParameterAdapter;
+    private HttpServletRequest queryRequest;
+    private RequestBodyParameterAdapter bodyParameterAdapter;
+    private HttpServletRequest bodyRequest;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        Parameter idParameter = SingletonBenchmarkController.class.getMethod("get", int.class).getParameters()[0];
+        queryParameterAdapter = new RequiredQueryParameterAdapter(idParameter, idParameter.getAnnotation(RequiredQueryParam.class));
+        queryRequest = StubRequests.withQuery(Map.of("id", new String[]{"12345"}));
+
+        Parameter bodyParameter = SingletonBenchmarkController.class.getMethod("post", List.class).getParameters()[0];
+        bodyParameterAdapter = new RequestBodyParameterAdapter(bodyParameter, bodyParameter.getAnnotation(FromRequestBody.class));
+        StringJoiner body = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < bodyElementCount; i++) {
+            body.add("{\"name\":\"Vendor " + i + "\",\"address\":\"" + i + " Main St\"}");
+        }
+        bodyRequest = StubRequests.withJsonBody(body.toString());
+    }
+
+    @Benchmark
+    public Object parsePrimitiveInt() {
+        return TypeUtils.parsePrimitives(int.class, "12345");
+    }
+
+    @Benchmark
+    public Object requiredQueryParameter() throws ControllerMethodParameterMappingException {
+        return queryParameterAdapter.mapValue(queryRequest);
+    }
+
+    @Benchmark
+    public Object requestBody() throws ControllerMethodParameterMappingException {
+        return bodyParameterAdapter.mapValue(bodyRequest);
+    }
+}
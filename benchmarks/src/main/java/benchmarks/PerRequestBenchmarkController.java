@@ -0,0 +1,7 @@
+package benchmarks;
+
+/**
+ * Same methods as {@link SingletonBenchmarkController}, but without lifecycle annotation, so created per request
+ */
+public class PerRequestBenchmarkController extends SingletonBenchmarkController {
+}
@@ -0,0 +1,76 @@
+package benchmarks;
+
+import app.dto.VendorResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import controllerlib.internal.json.JsonCodecRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization with the shared per-type writers, compared to a new ObjectMapper per response
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"1", "100", "1000"})
+    private int vendorCount;
+
+    private List<VendorResponseDto> vendors;
+    private ObjectWriter listWriter;
+    private ObjectWriter elementWriter;
+
+    @Setup
+    public void setUp() {
+        vendors = new ArrayList<>(vendorCount);
+        for (int i = 0; i < vendorCount; i++) {
+            vendors.add(new VendorResponseDto(i, "Vendor " + i, i + " Main St"));
+        }
+        listWriter = JsonCodecRegistry.writerFor(new TypeReference<List<VendorResponseDto>>() {
+        }.getType());
+        elementWriter = JsonCodecRegistry.streamElementWriterFor(VendorResponseDto.class);
+    }
+
+    @Benchmark
+    public String sharedTypedWriter() throws JsonProcessingException {
+        return listWriter.writeValueAsString(vendors);
+    }
+
+    @Benchmark
+    public String streamedArray() throws IOException {
+        StringWriter out = new StringWriter();
+        try (SequenceWriter sequenceWriter = elementWriter.writeValuesAsArray(out)) {
+            for (VendorResponseDto vendor : vendors) {
+                sequenceWriter.write(vendor);
+            }
+        }
+        return out.toString();
+    }
+
+    @Benchmark
+    public String newObjectMapperBaseline() throws JsonProcessingException {
+        return new ObjectMapper().writeValueAsString(vendors);
+    }
+}
@@ -0,0 +1,33 @@
+package benchmarks;
+
+import app.dto.VendorResponseDto;
+import app.dto.VendorViewDto;
+import controllerlib.exposed.BaseController;
+import controllerlib.exposed.ControllerResult;
+import controllerlib.exposed.ControllerScope;
+import controllerlib.exposed.annotations.ControllerLifecycle;
+import controllerlib.exposed.annotations.FromRequestBody;
+import controllerlib.exposed.annotations.HttpGet;
+import controllerlib.exposed.annotations.HttpPost;
+import controllerlib.exposed.annotations.RequiredQueryParam;
+
+import java.util.List;
+
+/**
+ * Controller without I/O, so benchmarks measure only the framework
+ */
+@ControllerLifecycle(ControllerScope.SINGLETON)
+public class SingletonBenchmarkController extends BaseController {
+    @HttpGet
+    public ControllerResult<VendorResponseDto> get(@RequiredQueryParam("id") int id) {
+        return Ok(new VendorResponseDto(id, "Vendor", "Address"));
+    }
+
+    @HttpPost
+    public ControllerResult<Integer> post(
+            @FromRequestBody(isGenericCollection = true,
+                    collectionType = List.class,
+                    elementType = VendorViewDto.class) List<VendorViewDto> viewDtos) {
+        return Ok(viewDtos.size());
+    }
+}
@@ -0,0 +1,63 @@
+package benchmarks;
+
+import app.dto.VendorResponseDto;
+import controllerlib.exposed.BaseController;
+import controllerlib.exposed.ControllerResult;
+import controllerlib.exposed.ControllerScope;
+import controllerlib.exposed.annotations.ControllerLifecycle;
+import controllerlib.exposed.annotations.HttpGet;
+import controllerlib.exposed.annotations.RequiredQueryParam;
+import controllerlib.exposed.annotations.VirtualThreadExecution;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every method waits millis like a JDBC round trip would, the same result is returned in three dispatch styles
+ */
+@ControllerLifecycle(ControllerScope.SINGLETON)
+public class SlowIoBenchmarkController extends BaseController {
+    /**
+     * Stands in for the event loop of a non-blocking driver
+     */
+    private static final ScheduledExecutorService IO_TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "slow-io-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @HttpGet
+    public ControllerResult<VendorResponseDto> blocking(@RequiredQueryParam("millis") int millis) {
+        sleep(millis);
+        return Ok(new VendorResponseDto(1, "Vendor", "Address"));
+    }
+
+    @HttpGet
+    @VirtualThreadExecution(maxConcurrency = 1024)
+    public ControllerResult<VendorResponseDto> virtualThread(@RequiredQueryParam("millis") int millis) {
+        sleep(millis);
+        return Ok(new VendorResponseDto(1, "Vendor", "Address"));
+    }
+
+    /**
+     * Non-blocking I/O, no thread waits until the result is ready
+     */
+    @HttpGet
+    public CompletionStage<ControllerResult<VendorResponseDto>> completionStage(@RequiredQueryParam("millis") int millis) {
+        CompletableFuture<ControllerResult<VendorResponseDto>> result = new CompletableFuture<>();
+        IO_TIMER.schedule(() -> result.complete(Ok(new VendorResponseDto(1, "Vendor", "Address"))),
+                millis, TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    private static void sleep(int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
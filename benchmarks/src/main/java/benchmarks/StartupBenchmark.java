@@ -0,0 +1,57 @@
+package benchmarks;
+
+import benchmarks.stubs.StubRequests;
+import benchmarks.stubs.StubServlets;
+import controllerlib.exposed.BaseController;
+import controllerlib.internal.servlet.BaseControllerServlet;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first request in a fresh JVM: servlet init with {@link ManyOverloadsController} and one GET.
+ * Every fork measures a single cold start, with the generated route table and with the reflective scan.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+    public static class ManyOverloadsServlet extends BaseControllerServlet {
+        @Override
+        protected Class<? extends BaseController> getControllerClass() {
+            return ManyOverloadsController.class;
+        }
+    }
+
+    @Benchmark
+    public int firstRequestWithRouteTable() throws ServletException, IOException {
+        return firstRequest();
+    }
+
+    @Benchmark
+    @Fork(value = 20, jvmArgsAppend = "-Dcontrollerlib.routeTables=false")
+    public int firstRequestWithReflectiveScan() throws ServletException, IOException {
+        return firstRequest();
+    }
+
+    private static int firstRequest() throws ServletException, IOException {
+        var servlet = new ManyOverloadsServlet();
+        servlet.init(StubServlets.config("startup"));
+        HttpServletResponse response = StubServlets.response();
+        servlet.service(StubRequests.withQuery(Map.of("p63", new String[]{"1"})), response);
+        servlet.destroy();
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,111 @@
+package benchmarks.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load test of POST /orders against a running application, for contention between concurrent orders.
+ * Every client sends the next order as soon as the previous one is answered.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar benchmarks.load.OrderPlacementLoad <orders url> <clients> <seconds>
+ * <product ids> [hot|spread]}, e.g. {@code http://localhost:8080/orders 64 30 1,2,3,4,5,6 hot}.
+ * In hot mode every order contains the first product, so all orders take key share locks on the same product row;
+ * in spread mode every order has one random product.
+ */
+public class OrderPlacementLoad {
+    private static final int LATENCY_SAMPLES_PER_CLIENT = 100_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 4) {
+            System.out.println("Usage: OrderPlacementLoad <orders url> <clients> <seconds> <product ids> [hot|spread]");
+            return;
+        }
+        URI uri = URI.create(args[0]);
+        int clients = Integer.parseInt(args[1]);
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(args[2]));
+        int[] productIds = Arrays.stream(args[3].split(",")).mapToInt(Integer::parseInt).toArray();
+        boolean hot = args.length < 5 || args[4].equals("hot");
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+        Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        long[][] latencies = new long[clients][LATENCY_SAMPLES_PER_CLIENT];
+        int[] latencyCounts = new int[clients];
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        long deadline = System.nanoTime() + durationNanos;
+        for (int client = 0; client < clients; client++) {
+            int clientIndex = client;
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(orderJson(productIds, hot)))
+                            .build();
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    if (latencyCounts[clientIndex] < LATENCY_SAMPLES_PER_CLIENT) {
+                        latencies[clientIndex][latencyCounts[clientIndex]++] = System.nanoTime() - start;
+                    }
+                    statusCounts.computeIfAbsent(status, s -> new LongAdder()).increment();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(durationNanos + TimeUnit.MINUTES.toNanos(1), TimeUnit.NANOSECONDS);
+
+        long[] all = new long[Arrays.stream(latencyCounts).sum()];
+        int offset = 0;
+        for (int client = 0; client < clients; client++) {
+            System.arraycopy(latencies[client], 0, all, offset, latencyCounts[client]);
+            offset += latencyCounts[client];
+        }
+        Arrays.sort(all);
+        long total = statusCounts.values().stream().mapToLong(LongAdder::sum).sum();
+        Map<Integer, Long> statuses = new TreeMap<>();
+        statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+
+        System.out.printf("%s mode, %d clients: %.1f orders/s, statuses %s (-1 = I/O error)%n",
+                hot ? "hot" : "spread", clients, total / (durationNanos / 1e9), statuses);
+        System.out.printf("latency ms: p50 %.2f, p95 %.2f, p99 %.2f, max %.2f%n",
+                percentile(all, 0.50), percentile(all, 0.95), percentile(all, 0.99), percentile(all, 1.0));
+        System.exit(0);
+    }
+
+    private static String orderJson(int[] productIds, boolean hot) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int productId = productIds[random.nextInt(productIds.length)];
+        String lines = "{\"productId\":" + productId + ",\"amount\":" + (1 + random.nextInt(5)) + "}";
+        if (hot && productId != productIds[0]) {
+            lines = "{\"productId\":" + productIds[0] + ",\"amount\":1}," + lines;
+        }
+        return "{\"description\":\"load test\",\"lines\":[" + lines + "]}";
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(quantile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+}
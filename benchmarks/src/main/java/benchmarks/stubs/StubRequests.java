@@ -0,0 +1,52 @@
+package benchmarks.stubs;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * In-process HttpServletRequest implementations, so benchmarks run without a servlet container
+ */
+public final class StubRequests {
+    private StubRequests() {
+    }
+
+    public static HttpServletRequest withQuery(Map<String, String[]> parameters) {
+        return create("GET", parameters, null, null);
+    }
+
+    /**
+     * @return request whose body can be read any number of times
+     */
+    public static HttpServletRequest withJsonBody(String body) {
+        return create("POST", Map.of(), "application/json", body);
+    }
+
+    private static HttpServletRequest create(String method, Map<String, String[]> parameters, String contentType, String body) {
+        return (HttpServletRequest) Proxy.newProxyInstance(
+                StubRequests.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class},
+                (proxy, invokedMethod, args) -> switch (invokedMethod.getName()) {
+                    case "getMethod" -> method;
+                    case "getParameterMap" -> parameters;
+                    case "getParameter" -> {
+                        String[] values = parameters.get((String) args[0]);
+                        yield values == null || values.length == 0 ? null : values[0];
+                    }
+                    case "getParameterValues" -> parameters.get((String) args[0]);
+                    case "getParameterNames" -> Collections.enumeration(parameters.keySet());
+                    case "getContentType" -> contentType;
+                    case "getReader" -> new BufferedReader(new StringReader(body));
+                    case "getHeader" -> null;
+                    case "isAsyncSupported" -> false;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubRequest[" + method + " " + parameters.keySet() + "]";
+                    default -> throw new UnsupportedOperationException(invokedMethod.getName());
+                });
+    }
+}
@@ -0,0 +1,60 @@
+package benchmarks.stubs;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * In-memory ResultSet over fixed rows. Columns can be read by 1-based index or by label.
+ */
+public final class StubResultSets {
+    private StubResultSets() {
+    }
+
+    public static ResultSet of(List<String> columns, Object[][] rows) {
+        int[] cursor = {-1};
+        return (ResultSet) Proxy.newProxyInstance(
+                StubResultSets.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> ++cursor[0] < rows.length;
+                    case "beforeFirst" -> {
+                        cursor[0] = -1;
+                        yield null;
+                    }
+                    case "findColumn" -> columnIndex(columns, args[0]) + 1;
+                    case "getInt" -> ((Number) value(columns, rows, cursor[0], args[0])).intValue();
+                    case "getLong" -> ((Number) value(columns, rows, cursor[0], args[0])).longValue();
+                    case "getString" -> (String) value(columns, rows, cursor[0], args[0]);
+                    case "getBigDecimal" -> value(columns, rows, cursor[0], args[0]);
+                    case "getObject" -> value(columns, rows, cursor[0], args[0]);
+                    case "wasNull" -> false;
+                    case "close" -> null;
+                    case "isClosed" -> false;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubResultSet" + columns;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static Object value(List<String> columns, Object[][] rows, int row, Object column) throws SQLException {
+        if (row < 0 || row >= rows.length) {
+            throw new SQLException("Cursor is not on a row");
+        }
+        return rows[row][columnIndex(columns, column)];
+    }
+
+    private static int columnIndex(List<String> columns, Object column) throws SQLException {
+        if (column instanceof Integer index) {
+            return index - 1;
+        }
+        int index = columns.indexOf((String) column);
+        if (index < 0) {
+            throw new SQLException("No column " + column + " in " + Arrays.toString(columns.toArray()));
+        }
+        return index;
+    }
+}
@@ -0,0 +1,79 @@
+package benchmarks.stubs;
+
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimal servlet config and response, so servlets can be initialized and called without a container
+ */
+public final class StubServlets {
+    private StubServlets() {
+    }
+
+    public static ServletConfig config(String servletName) {
+        ServletContext context = (ServletContext) Proxy.newProxyInstance(
+                StubServlets.class.getClassLoader(),
+                new Class<?>[]{ServletContext.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getServletRegistration", "getAttribute", "getInitParameter" -> null;
+                    case "log" -> null;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubServletContext";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        return (ServletConfig) Proxy.newProxyInstance(
+                StubServlets.class.getClassLoader(),
+                new Class<?>[]{ServletConfig.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getServletName" -> servletName;
+                    case "getServletContext" -> context;
+                    case "getInitParameter" -> null;
+                    case "getInitParameterNames" -> Collections.emptyEnumeration();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubServletConfig[" + servletName + "]";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * @return response which keeps status and headers in memory and discards the body
+     */
+    public static HttpServletResponse response() {
+        int[] status = {HttpServletResponse.SC_OK};
+        Map<String, String> headers = new HashMap<>();
+        PrintWriter writer = new PrintWriter(new StringWriter());
+        return (HttpServletResponse) Proxy.newProxyInstance(
+                StubServlets.class.getClassLoader(),
+                new Class<?>[]{HttpServletResponse.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "setStatus" -> {
+                        status[0] = (int) args[0];
+                        yield null;
+                    }
+                    case "getStatus" -> status[0];
+                    case "setHeader", "addHeader" -> {
+                        headers.put((String) args[0], (String) args[1]);
+                        yield null;
+                    }
+                    case "setDateHeader", "setContentType", "setCharacterEncoding", "setContentLength",
+                         "setContentLengthLong", "flushBuffer" -> null;
+                    case "getHeader" -> headers.get((String) args[0]);
+                    case "getWriter" -> writer;
+                    case "isCommitted" -> false;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubResponse[" + status[0] + "]";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,204 @@
+package controllerlib.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Generates a route table class {@code <Controller>_Routes} for every controller with HTTP method annotations,
+ * so controller servlets can resolve their methods without scanning the controller class at startup.
+ * <p>
+ * Annotation types are referenced by name, so this module does not depend on the controller library.
+ */
+@SupportedAnnotationTypes({
+        RouteTableProcessor.HTTP_GET,
+        RouteTableProcessor.HTTP_POST,
+        RouteTableProcessor.HTTP_PUT,
+        RouteTableProcessor.HTTP_DELETE
+})
+public class RouteTableProcessor extends AbstractProcessor {
+    static final String HTTP_GET = "controllerlib.exposed.annotations.HttpGet";
+    static final String HTTP_POST = "controllerlib.exposed.annotations.HttpPost";
+    static final String HTTP_PUT = "controllerlib.exposed.annotations.HttpPut";
+    static final String HTTP_DELETE = "controllerlib.exposed.annotations.HttpDelete";
+    private static final List<String> HTTP_ANNOTATIONS = List.of(HTTP_GET, HTTP_POST, HTTP_PUT, HTTP_DELETE);
+
+    private static final String BASE_CONTROLLER = "controllerlib.exposed.BaseController";
+    private static final String CONTROLLER_RESULT = "controllerlib.exposed.ControllerResult";
+    private static final String COMPLETION_STAGE = "java.util.concurrent.CompletionStage";
+    private static final String ROUTE_TABLE = "controllerlib.internal.routes.ControllerRouteTable";
+    private static final String ROUTE = "controllerlib.internal.routes.Route";
+    static final String TABLE_SUFFIX = "_Routes";
+
+    private final Set<String> generatedControllers = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> controllers = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.METHOD) {
+                    controllers.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+        }
+        for (TypeElement controller : controllers) {
+            String name = controller.getQualifiedName().toString();
+            if (generatedControllers.add(name) && isController(controller)) {
+                generateTable(controller);
+            }
+        }
+        return false;
+    }
+
+    private boolean isController(TypeElement type) {
+        TypeElement baseController = processingEnv.getElementUtils().getTypeElement(BASE_CONTROLLER);
+        if (baseController == null
+                || !processingEnv.getTypeUtils().isSubtype(type.asType(), processingEnv.getTypeUtils().erasure(baseController.asType()))) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "HTTP method annotations outside of a BaseController subclass are ignored", type);
+            return false;
+        }
+        return type.getModifiers().contains(Modifier.PUBLIC);
+    }
+
+    private void generateTable(TypeElement controller) {
+        List<String> routes = new ArrayList<>();
+        for (ExecutableElement method : collectPublicMethods(controller)) {
+            String httpAnnotation = findHttpAnnotation(method);
+            if (httpAnnotation == null) {
+                continue;
+            }
+            if (!hasValidReturnType(method)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Controller method must return ControllerResult or CompletionStage<ControllerResult>", method);
+                continue;
+            }
+            StringJoiner arguments = new StringJoiner(", ", "controller.getMethod(", ")");
+            arguments.add("\"" + method.getSimpleName() + "\"");
+            for (VariableElement parameter : method.getParameters()) {
+                arguments.add(processingEnv.getTypeUtils().erasure(parameter.asType()) + ".class");
+            }
+            routes.add("new " + ROUTE + "(" + httpAnnotation + ".class, " + arguments + ")");
+        }
+        writeSource(controller, routes);
+    }
+
+    /**
+     * Public instance methods of the class and its superclasses, a method overridden in a subclass is taken
+     * from the subclass only, like {@link Class#getMethods()} does
+     */
+    private List<ExecutableElement> collectPublicMethods(TypeElement controller) {
+        List<ExecutableElement> result = new ArrayList<>();
+        Set<String> seenSignatures = new HashSet<>();
+        TypeElement current = controller;
+        while (current != null) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+                if (seenSignatures.add(signature(method))) {
+                    result.add(method);
+                }
+            }
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superclass).asElement()
+                    : null;
+        }
+        return result;
+    }
+
+    private String signature(ExecutableElement method) {
+        StringJoiner signature = new StringJoiner(",", method.getSimpleName() + "(", ")");
+        for (VariableElement parameter : method.getParameters()) {
+            signature.add(processingEnv.getTypeUtils().erasure(parameter.asType()).toString());
+        }
+        return signature.toString();
+    }
+
+    private static String findHttpAnnotation(ExecutableElement method) {
+        for (var annotationMirror : method.getAnnotationMirrors()) {
+            String name = ((TypeElement) annotationMirror.getAnnotationType().asElement()).getQualifiedName().toString();
+            if (HTTP_ANNOTATIONS.contains(name)) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasValidReturnType(ExecutableElement method) {
+        TypeMirror returnType = method.getReturnType();
+        if (isErasureOf(returnType, CONTROLLER_RESULT)) {
+            return true;
+        }
+        TypeElement completionStage = processingEnv.getElementUtils().getTypeElement(COMPLETION_STAGE);
+        if (returnType.getKind() != TypeKind.DECLARED
+                || !processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(returnType),
+                processingEnv.getTypeUtils().erasure(completionStage.asType()))) {
+            return false;
+        }
+        List<? extends TypeMirror> typeArguments = ((DeclaredType) returnType).getTypeArguments();
+        return typeArguments.size() == 1 && isErasureOf(typeArguments.get(0), CONTROLLER_RESULT);
+    }
+
+    private boolean isErasureOf(TypeMirror type, String qualifiedName) {
+        return processingEnv.getTypeUtils().erasure(type).toString().equals(qualifiedName);
+    }
+
+    private void writeSource(TypeElement controller, List<String> routes) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(controller);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(controller).toString();
+        String tableName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + TABLE_SUFFIX;
+        String qualifiedTableName = packageName.isEmpty() ? tableName : packageName + "." + tableName;
+
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(qualifiedTableName, controller).openWriter())) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("@javax.annotation.processing.Generated(\"" + RouteTableProcessor.class.getName() + "\")");
+            out.println("public final class " + tableName + " implements " + ROUTE_TABLE + " {");
+            out.println("    @Override");
+            out.println("    public java.util.List<" + ROUTE + "> getRoutes() throws NoSuchMethodException {");
+            out.println("        Class<" + controller.getQualifiedName() + "> controller = " + controller.getQualifiedName() + ".class;");
+            out.println("        return java.util.List.of(");
+            for (int i = 0; i < routes.size(); i++) {
+                out.println("                " + routes.get(i) + (i < routes.size() - 1 ? "," : ""));
+            }
+            out.println("        );");
+            out.println("    }");
+            out.println("}");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
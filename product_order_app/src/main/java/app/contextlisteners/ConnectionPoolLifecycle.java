@@ -0,0 +1,30 @@
+package app.contextlisteners;
+
+import app.db.Database;
+import app.db.pool.ConnectionPool;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+
+import java.util.logging.Logger;
+
+/**
+ * Opens the shared connection pools on deploy and closes their connections on undeploy
+ */
+public class ConnectionPoolLifecycle implements ServletContextListener {
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPoolLifecycle.class.getName());
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        // Also starts replica health checks, so replicas are in rotation before the first request
+        Database.getDataSource();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        ConnectionPool pool = Database.getPoolIfCreated();
+        if (pool != null) {
+            LOGGER.info("Closing connection pool: " + pool.getMetrics());
+        }
+        Database.close();
+    }
+}
@@ -0,0 +1,30 @@
+package app.contextlisteners;
+
+import app.db.Database;
+import app.repositories.ProductRepository;
+import app.search.ProductSearchIndex;
+import app.search.ProductSearchIndexUpdater;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+
+/**
+ * Starts keeping the product search index up to date on deploy, must be registered after the migrations applier
+ */
+public class ProductSearchIndexLifecycle implements ServletContextListener {
+    private ProductSearchIndexUpdater updater;
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        updater = new ProductSearchIndexUpdater(ProductSearchIndex.getDefault(), new ProductRepository(), Database.getConfig());
+        updater.start();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        try {
+            updater.stop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
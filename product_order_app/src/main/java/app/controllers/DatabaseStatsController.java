@@ -0,0 +1,28 @@
+package app.controllers;
+
+import app.db.Database;
+import app.db.StatementStats;
+import app.dto.DatabaseStatsDto;
+import app.repositories.CachingVendorRepository;
+import app.search.ProductSearchIndex;
+import controllerlib.exposed.BaseController;
+import controllerlib.exposed.ControllerResult;
+import controllerlib.exposed.ControllerScope;
+import controllerlib.exposed.annotations.ControllerLifecycle;
+import controllerlib.exposed.annotations.HttpGet;
+
+/**
+ * Connection pools, cache, search index and per-statement counters, for checking that hot queries stay prepared
+ */
+@ControllerLifecycle(ControllerScope.SINGLETON)
+public class DatabaseStatsController extends BaseController {
+    @HttpGet
+    public ControllerResult<DatabaseStatsDto> get() {
+        return Ok(new DatabaseStatsDto(
+                Database.getPool().getMetrics(),
+                Database.getReplicaStatuses(),
+                CachingVendorRepository.getCacheStats(),
+                StatementStats.snapshot(),
+                ProductSearchIndex.getDefault().getStats()));
+    }
+}
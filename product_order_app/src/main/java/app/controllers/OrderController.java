@@ -0,0 +1,117 @@
+package app.controllers;
+
+import app.dto.OrderDetailsDto;
+import app.dto.OrderLineViewDto;
+import app.dto.OrderResponseDto;
+import app.dto.OrderViewDto;
+import app.dto.PageDto;
+import app.entity.OrderEntity;
+import app.exceptions.EntityNotFoundException;
+import app.repositories.OrderDetailsRepository;
+import app.repositories.OrderRepository;
+import controllerlib.exposed.BaseController;
+import controllerlib.exposed.ControllerResult;
+import controllerlib.exposed.ControllerScope;
+import controllerlib.exposed.annotations.ConcurrencyLimit;
+import controllerlib.exposed.annotations.ControllerLifecycle;
+import controllerlib.exposed.annotations.FromRequestBody;
+import controllerlib.exposed.annotations.HttpGet;
+import controllerlib.exposed.annotations.HttpPost;
+import controllerlib.exposed.annotations.NotRequiredQueryParam;
+import controllerlib.exposed.annotations.ReadYourWrites;
+import controllerlib.exposed.annotations.RequiredQueryParam;
+import controllerlib.exposed.annotations.VirtualThreadExecution;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@ControllerLifecycle(ControllerScope.SINGLETON)
+@VirtualThreadExecution(maxConcurrency = 512)
+@ConcurrencyLimit(initialLimit = 32, maxLimit = 512)
+public class OrderController extends BaseController {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_LINES = 100;
+    private static final int MAX_AMOUNT = 1_000_000;
+    private static final int MAX_DESCRIPTION_LENGTH = 320;
+
+    private final OrderDetailsRepository detailsRepository = new OrderDetailsRepository();
+    private final OrderRepository repository = new OrderRepository();
+
+    /**
+     * limit - number of orders in the page, at most {@value MAX_PAGE_SIZE}
+     * after - nextCursor of the previous page, omitted for the first page
+     */
+    @HttpGet
+    @ConcurrencyLimit(initialLimit = 8, maxLimit = 64, latencyTargetMillis = 2000,
+            priority = ConcurrencyLimit.Priority.BACKGROUND)
+    public ControllerResult<PageDto<OrderDetailsDto>> get(@RequiredQueryParam("limit") int limit,
+                                                          @NotRequiredQueryParam("after") int after) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return BadRequest();
+        }
+        try {
+            // One extra order tells whether there is a next page
+            List<OrderDetailsDto> orders = detailsRepository.getPage(after, limit + 1);
+            boolean hasNextPage = orders.size() > limit;
+            List<OrderDetailsDto> items = hasNextPage ? orders.subList(0, limit) : orders;
+            Integer nextCursor = hasNextPage ? items.get(limit - 1).getId() : null;
+            return Ok(new PageDto<>(items, nextCursor));
+        } catch (SQLException e) {
+            return InternalServerError();
+        }
+    }
+
+    /**
+     * Read from the primary, clients usually fetch an order right after creating it
+     */
+    @HttpGet
+    @ReadYourWrites
+    public ControllerResult<OrderDetailsDto> get(@RequiredQueryParam("id") int id) {
+        try {
+            return Ok(detailsRepository.get(id));
+        } catch (SQLException e) {
+            return InternalServerError();
+        } catch (EntityNotFoundException e) {
+            return NotFound();
+        }
+    }
+
+    /**
+     * Creates an order with up to {@value MAX_LINES} lines, cost is computed from current product prices.
+     * Responds with 400 if a product does not exist.
+     */
+    @HttpPost
+    public ControllerResult<OrderResponseDto> post(@FromRequestBody OrderViewDto viewDto) {
+        if (viewDto == null || viewDto.getLines() == null || viewDto.getLines().isEmpty()
+                || viewDto.getLines().size() > MAX_LINES
+                || (viewDto.getDescription() != null && viewDto.getDescription().length() > MAX_DESCRIPTION_LENGTH)) {
+            return BadRequest();
+        }
+        // product_orders has one row per product, repeated products are merged
+        Map<Integer, Integer> amounts = new LinkedHashMap<>();
+        for (OrderLineViewDto line : viewDto.getLines()) {
+            if (line == null || line.getAmount() < 1 || line.getAmount() > MAX_AMOUNT) {
+                return BadRequest();
+            }
+            amounts.merge(line.getProductId(), line.getAmount(), Integer::sum);
+        }
+        int[] productIds = new int[amounts.size()];
+        int[] lineAmounts = new int[amounts.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Integer> entry : amounts.entrySet()) {
+            productIds[i] = entry.getKey();
+            lineAmounts[i] = entry.getValue();
+            i++;
+        }
+        try {
+            OrderEntity order = repository.create(viewDto.getDescription(), productIds, lineAmounts);
+            return Created(new OrderResponseDto(order.getId(), order.getCost(), order.getDescription()));
+        } catch (EntityNotFoundException e) {
+            return BadRequest();
+        } catch (SQLException e) {
+            return InternalServerError();
+        }
+    }
+}
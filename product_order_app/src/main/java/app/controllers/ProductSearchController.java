@@ -0,0 +1,53 @@
+package app.controllers;
+
+import app.dto.ProductSearchHitDto;
+import app.entity.ProductEntity;
+import app.search.ProductSearchHit;
+import app.search.ProductSearchIndex;
+import controllerlib.exposed.BaseController;
+import controllerlib.exposed.ControllerResult;
+import controllerlib.exposed.ControllerScope;
+import controllerlib.exposed.annotations.ControllerLifecycle;
+import controllerlib.exposed.annotations.HttpGet;
+import controllerlib.exposed.annotations.NotRequiredQueryParam;
+import controllerlib.exposed.annotations.RequiredQueryParam;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Search over the in-memory product index, never queries the database
+ */
+@ControllerLifecycle(ControllerScope.SINGLETON)
+public class ProductSearchController extends BaseController {
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+
+    private final ProductSearchIndex index = ProductSearchIndex.getDefault();
+
+    /**
+     * q - words to search in product names and descriptions, the last word may be incomplete
+     * limit - number of results, {@value DEFAULT_LIMIT} if omitted, at most {@value MAX_LIMIT}
+     */
+    @HttpGet
+    public ControllerResult<List<ProductSearchHitDto>> get(@RequiredQueryParam("q") String query,
+                                                           @NotRequiredQueryParam("limit") int limit) {
+        if (limit == 0) {
+            limit = DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return BadRequest();
+        }
+        if (!index.isReady()) {
+            return ServiceUnavailable();
+        }
+        List<ProductSearchHit> hits = index.search(query, limit);
+        List<ProductSearchHitDto> dtos = new ArrayList<>(hits.size());
+        for (ProductSearchHit hit : hits) {
+            ProductEntity product = hit.product();
+            dtos.add(new ProductSearchHitDto(product.getId(), product.getName(), product.getPrice(),
+                    product.getDescription(), product.getVendorId(), hit.score()));
+        }
+        return Ok(dtos);
+    }
+}
@@ -1,44 +1,108 @@
 package app.controllers;
 
+import app.dto.PageDto;
 import app.dto.VendorViewDto;
 import controllerlib.exposed.BaseController;
 import controllerlib.exposed.ControllerResult;
+import controllerlib.exposed.ControllerScope;
+import controllerlib.exposed.RequestPreconditions;
+import controllerlib.exposed.annotations.ConcurrencyLimit;
+import controllerlib.exposed.annotations.ControllerLifecycle;
 import controllerlib.exposed.annotations.FromRequestBody;
 import controllerlib.exposed.annotations.HttpGet;
 import controllerlib.exposed.annotations.HttpPost;
+import controllerlib.exposed.annotations.NotRequiredQueryParam;
 import controllerlib.exposed.annotations.RequiredQueryParam;
+import controllerlib.exposed.annotations.SingleFlight;
+import controllerlib.exposed.annotations.VirtualThreadExecution;
 import app.dto.VendorResponseDto;
+import app.entity.TableVersionEntity;
 import app.entity.VendorEntity;
 import app.exceptions.EntityNotFoundException;
-import app.repositories.VendorRepository;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import app.mapping.DtoMapper;
+import app.mapping.Mappers;
+import app.repositories.CachingVendorRepository;
+import app.repositories.TableVersionRepository;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
+@ControllerLifecycle(ControllerScope.SINGLETON)
+@VirtualThreadExecution(maxConcurrency = 512)
+@ConcurrencyLimit(initialLimit = 64, maxLimit = 512)
 public class VendorController extends BaseController {
-    private final VendorRepository repository = new VendorRepository();
-    private final ModelMapper modelMapper = new ModelMapper();
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_IDS = 100;
+    private static final String TABLE_NAME = "vendor";
 
+    private final CachingVendorRepository repository = new CachingVendorRepository();
+    private final TableVersionRepository versionRepository = new TableVersionRepository();
+    private final DtoMapper<VendorEntity, VendorResponseDto> responseMapper = Mappers.VENDOR_RESPONSE;
+
+    /**
+     * Responses of GET methods carry the vendor table version as ETag and Last-Modified.
+     * The version is read before the data, so a concurrent change can only make the tag older than the body,
+     * which costs the client one extra full response but never a stale 304.
+     */
+    @HttpGet
+    @ConcurrencyLimit(initialLimit = 4, maxLimit = 32, latencyTargetMillis = 5000,
+            priority = ConcurrencyLimit.Priority.BACKGROUND, retryAfterSeconds = 5)
+    public ControllerResult<Stream<VendorResponseDto>> get(RequestPreconditions preconditions) {
+        try {
+            TableVersionEntity version = versionRepository.get(TABLE_NAME);
+            if (preconditions.isNotModified(version.toTag(), version.modifiedAt())) {
+                return NotModified(version.toTag(), version.modifiedAt());
+            }
+            Stream<VendorResponseDto> dtos = repository.stream()
+                    .map(responseMapper::map);
+            return Ok(dtos).withValidators(version.toTag(), version.modifiedAt());
+        } catch (SQLException e) {
+            return InternalServerError();
+        }
+    }
+
+    /**
+     * limit - page size, at most {@value MAX_PAGE_SIZE}
+     * after - nextCursor of the previous page, omitted for the first page
+     */
     @HttpGet
-    public ControllerResult<List<VendorResponseDto>> get() {
+    @SingleFlight
+    public ControllerResult<PageDto<VendorResponseDto>> get(@RequiredQueryParam("limit") int limit,
+                                                            @NotRequiredQueryParam("after") int after,
+                                                            RequestPreconditions preconditions) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return BadRequest();
+        }
         try {
-            List<VendorEntity> entities = repository.get();
-            List<VendorResponseDto> dtos = modelMapper.map(entities, new TypeToken<List<VendorEntity>>() {
-            }.getType());
-            return Ok(dtos);
+            TableVersionEntity version = versionRepository.get(TABLE_NAME);
+            if (preconditions.isNotModified(version.toTag(), version.modifiedAt())) {
+                return NotModified(version.toTag(), version.modifiedAt());
+            }
+            // One extra row tells whether there is a next page
+            List<VendorEntity> entities = repository.getPage(after, limit + 1);
+            boolean hasNextPage = entities.size() > limit;
+            List<VendorResponseDto> dtos = responseMapper.mapAll(hasNextPage ? entities.subList(0, limit) : entities);
+            Integer nextCursor = hasNextPage ? dtos.get(limit - 1).getId() : null;
+            return Ok(new PageDto<>(dtos, nextCursor)).withValidators(version.toTag(), version.modifiedAt());
         } catch (SQLException e) {
             return InternalServerError();
         }
     }
 
     @HttpGet
-    public ControllerResult<VendorResponseDto> get(@RequiredQueryParam("id") int id) {
+    @SingleFlight
+    public ControllerResult<VendorResponseDto> get(@RequiredQueryParam("id") int id,
+                                                   RequestPreconditions preconditions) {
         try {
-            VendorEntity entity = repository.get(id);
-            VendorResponseDto dto = modelMapper.map(entity, VendorResponseDto.class);
-            return Ok(dto);
+            TableVersionEntity version = versionRepository.get(TABLE_NAME);
+            if (preconditions.isNotModified(version.toTag(), version.modifiedAt())) {
+                return NotModified(version.toTag(), version.modifiedAt());
+            }
+            VendorEntity entity = repository.get(id, version);
+            VendorResponseDto dto = responseMapper.map(entity);
+            return Ok(dto).withValidators(version.toTag(), version.modifiedAt());
         } catch (SQLException e) {
             return InternalServerError();
         } catch (EntityNotFoundException e) {
@@ -46,11 +110,51 @@ public class VendorController extends BaseController {
         }
     }
 
+    /**
+     * ids - up to {@value MAX_IDS} ids, repeated (ids=1&amp;ids=2) or comma separated (ids=1,2).
+     * Vendors are returned in the order of ids, unknown ids are skipped.
+     */
+    @HttpGet
+    @SingleFlight
+    public ControllerResult<List<VendorResponseDto>> get(@RequiredQueryParam("ids") int[] ids,
+                                                         RequestPreconditions preconditions) {
+        if (ids.length > MAX_IDS) {
+            return BadRequest();
+        }
+        try {
+            TableVersionEntity version = versionRepository.get(TABLE_NAME);
+            if (preconditions.isNotModified(version.toTag(), version.modifiedAt())) {
+                return NotModified(version.toTag(), version.modifiedAt());
+            }
+            List<VendorResponseDto> dtos = responseMapper.mapAll(repository.getAll(ids, version));
+            return Ok(dtos).withValidators(version.toTag(), version.modifiedAt());
+        } catch (SQLException e) {
+            return InternalServerError();
+        }
+    }
+
+    /**
+     * Bulk import, responds with ids of created vendors in the order of the request body
+     */
     @HttpPost
-    public ControllerResult<String> post(
+    public ControllerResult<int[]> post(
             @FromRequestBody(isGenericCollection = true,
                     collectionType = List.class,
-                    elementType = VendorViewDto.class) List<VendorViewDto> viedDtos) {
-        return Ok(viedDtos.get(0).getName());
+                    elementType = VendorViewDto.class) List<VendorViewDto> viewDtos) {
+        if (viewDtos == null) {
+            return BadRequest();
+        }
+        List<VendorEntity> entities = new ArrayList<>(viewDtos.size());
+        for (VendorViewDto viewDto : viewDtos) {
+            if (viewDto == null || viewDto.getName() == null) {
+                return BadRequest();
+            }
+            entities.add(new VendorEntity(0, viewDto.getName(), viewDto.getAddress()));
+        }
+        try {
+            return Created(repository.createAll(entities));
+        } catch (SQLException e) {
+            return InternalServerError();
+        }
     }
 }
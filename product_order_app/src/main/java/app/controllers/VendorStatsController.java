@@ -0,0 +1,58 @@
+package app.controllers;
+
+import app.dto.VendorSalesDto;
+import app.entity.VendorSalesEntity;
+import app.exceptions.EntityNotFoundException;
+import app.mapping.DtoMapper;
+import app.mapping.Mappers;
+import app.repositories.VendorSalesRepository;
+import controllerlib.exposed.BaseController;
+import controllerlib.exposed.ControllerResult;
+import controllerlib.exposed.ControllerScope;
+import controllerlib.exposed.annotations.ControllerLifecycle;
+import controllerlib.exposed.annotations.HttpGet;
+import controllerlib.exposed.annotations.RequiredQueryParam;
+import controllerlib.exposed.annotations.SingleFlight;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Units sold and revenue per vendor, read from the aggregate kept by triggers on product_orders
+ */
+@ControllerLifecycle(ControllerScope.SINGLETON)
+public class VendorStatsController extends BaseController {
+    private static final int MAX_IDS = 100;
+
+    private final VendorSalesRepository repository = new VendorSalesRepository();
+    private final DtoMapper<VendorSalesEntity, VendorSalesDto> mapper = Mappers.VENDOR_SALES;
+
+    @HttpGet
+    @SingleFlight
+    public ControllerResult<VendorSalesDto> get(@RequiredQueryParam("id") int id) {
+        try {
+            return Ok(mapper.map(repository.get(id)));
+        } catch (SQLException e) {
+            return InternalServerError();
+        } catch (EntityNotFoundException e) {
+            return NotFound();
+        }
+    }
+
+    /**
+     * ids - up to {@value MAX_IDS} vendor ids, repeated or comma separated.
+     * Sales are returned in the order of ids, unknown vendors are skipped.
+     */
+    @HttpGet
+    @SingleFlight
+    public ControllerResult<List<VendorSalesDto>> get(@RequiredQueryParam("ids") int[] ids) {
+        if (ids.length > MAX_IDS) {
+            return BadRequest();
+        }
+        try {
+            return Ok(mapper.mapAll(repository.getAll(ids)));
+        } catch (SQLException e) {
+            return InternalServerError();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package app.db;
+
+import java.sql.SQLException;
+
+/**
+ * Unchecked wrapper for SQL errors which happen where checked exceptions cannot be thrown, e.g. inside a Stream
+ */
+public class DataAccessException extends RuntimeException {
+    public DataAccessException(SQLException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
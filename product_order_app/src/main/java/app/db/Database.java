@@ -0,0 +1,94 @@
+package app.db;
+
+import app.db.pool.ConnectionPool;
+import app.db.routing.ReplicaStatus;
+import app.db.routing.RoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Holds the connection pools shared by all repositories and the migrations applier.
+ */
+public final class Database {
+    private static volatile ConnectionPool pool;
+    private static volatile RoutingDataSource routingDataSource;
+    private static volatile DatabaseConfig config;
+
+    private Database() {
+    }
+
+    /**
+     * Routes reads of GET controller methods to replicas, if any are configured, see {@link RoutingDataSource}
+     */
+    public static DataSource getDataSource() {
+        RoutingDataSource result = routingDataSource;
+        if (result == null) {
+            synchronized (Database.class) {
+                result = routingDataSource;
+                if (result == null) {
+                    result = new RoutingDataSource(getPool(), getConfig());
+                    routingDataSource = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * For schema changes and anything else which must never run on a replica
+     */
+    public static DataSource getPrimaryDataSource() {
+        return getPool();
+    }
+
+    public static List<ReplicaStatus> getReplicaStatuses() {
+        return ((RoutingDataSource) getDataSource()).getReplicaStatuses();
+    }
+
+    public static DatabaseConfig getConfig() {
+        DatabaseConfig result = config;
+        if (result == null) {
+            result = DatabaseConfig.load();
+            config = result;
+        }
+        return result;
+    }
+
+    /**
+     * Pool of the primary
+     */
+    public static ConnectionPool getPool() {
+        ConnectionPool result = pool;
+        if (result == null) {
+            synchronized (Database.class) {
+                result = pool;
+                if (result == null) {
+                    DatabaseConfig databaseConfig = getConfig();
+                    result = new ConnectionPool(databaseConfig.url(), databaseConfig.user(), databaseConfig.password(),
+                            databaseConfig.poolConfig());
+                    pool = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Pool of the primary, or null if nothing has used it yet, e.g. on shutdown where a new pool would be wasted
+     */
+    public static ConnectionPool getPoolIfCreated() {
+        return pool;
+    }
+
+    public static synchronized void close() {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+            routingDataSource = null;
+        }
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package app.db;
+
+import app.db.pool.PoolConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Single source of database settings for the whole application.
+ * Values are read from database.properties on the classpath and may be overridden by JVM system properties.
+ *
+ * @param validateMigrationsOnly at startup only validate checksums of applied migrations,
+ *                               migrate only if there are pending migrations
+ * @param replicaUrls            read replicas, each gets a pool with the same credentials and settings as the primary
+ * @param replicaHealthCheckPeriodMillis how often replicas are checked and taken out of or back into rotation
+ */
+public record DatabaseConfig(String url, String user, String password, PoolConfig poolConfig,
+                             boolean validateMigrationsOnly, List<String> replicaUrls,
+                             long replicaHealthCheckPeriodMillis) {
+    private static final String CONFIG_RESOURCE = "/database.properties";
+
+    public static DatabaseConfig load() {
+        Properties properties = new Properties();
+        try (InputStream in = DatabaseConfig.class.getResourceAsStream(CONFIG_RESOURCE)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + CONFIG_RESOURCE, e);
+        }
+        properties.putAll(System.getProperties());
+
+        PoolConfig poolConfig = new PoolConfig(
+                Integer.parseInt(properties.getProperty("db.pool.minSize", "2")),
+                Integer.parseInt(properties.getProperty("db.pool.maxSize", "16")),
+                Long.parseLong(properties.getProperty("db.pool.acquireTimeoutMillis", "5000")),
+                Long.parseLong(properties.getProperty("db.pool.idleTimeoutMillis", "600000")),
+                Boolean.parseBoolean(properties.getProperty("db.pool.validateOnBorrow", "true")),
+                Integer.parseInt(properties.getProperty("db.pool.validationTimeoutSeconds", "2")),
+                Long.parseLong(properties.getProperty("db.pool.leakDetectionThresholdMillis", "30000")),
+                Long.parseLong(properties.getProperty("db.pool.housekeepingPeriodMillis", "30000"))
+        );
+
+        return new DatabaseConfig(
+                required(properties, "db.url"),
+                required(properties, "db.user"),
+                required(properties, "db.password"),
+                poolConfig,
+                Boolean.parseBoolean(properties.getProperty("db.migrations.validateOnly", "false")),
+                parseList(properties.getProperty("db.replica.urls", "")),
+                Long.parseLong(properties.getProperty("db.replica.healthCheckPeriodMillis", "5000"))
+        );
+    }
+
+    private static List<String> parseList(String value) {
+        List<String> result = new ArrayList<>();
+        for (String element : value.split(",")) {
+            if (!element.isBlank()) {
+                result.add(element.trim());
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalStateException("Missing database setting: " + key);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,78 @@
+package app.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Prepared statement together with its result set. Closing the query closes both, which matters for pooled
+ * connections: closing a pooled connection only returns it to the pool and leaves its statements open.
+ * Executions are counted in {@link StatementStats}.
+ */
+public final class PreparedQuery implements AutoCloseable {
+    private final String sql;
+    private final PreparedStatement statement;
+    private ResultSet resultSet;
+
+    private PreparedQuery(String sql, PreparedStatement statement) {
+        this.sql = sql;
+        this.statement = statement;
+    }
+
+    public static PreparedQuery prepare(Connection connection, String sql, Object... parameters) throws SQLException {
+        return bind(sql, connection.prepareStatement(sql), parameters);
+    }
+
+    /**
+     * Prepares an insert which returns values of the given generated columns
+     */
+    public static PreparedQuery prepareInsert(Connection connection, String sql, String... generatedColumns) throws SQLException {
+        return bind(sql, connection.prepareStatement(sql, generatedColumns));
+    }
+
+    private static PreparedQuery bind(String sql, PreparedStatement statement, Object... parameters) throws SQLException {
+        try {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            return new PreparedQuery(sql, statement);
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+    }
+
+    public PreparedStatement getStatement() {
+        return statement;
+    }
+
+    public ResultSet executeQuery() throws SQLException {
+        closeResultSet();
+        resultSet = statement.executeQuery();
+        StatementStats.record(sql, statement, 1);
+        return resultSet;
+    }
+
+    public int[] executeBatch() throws SQLException {
+        int[] updateCounts = statement.executeBatch();
+        StatementStats.record(sql, statement, updateCounts.length);
+        return updateCounts;
+    }
+
+    private void closeResultSet() throws SQLException {
+        if (resultSet != null) {
+            resultSet.close();
+            resultSet = null;
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            closeResultSet();
+        } finally {
+            statement.close();
+        }
+    }
+}
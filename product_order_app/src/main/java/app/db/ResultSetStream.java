@@ -0,0 +1,48 @@
+package app.db;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily maps rows of an open cursor. Closing the stream closes the query and returns the connection.
+ */
+public final class ResultSetStream {
+    @FunctionalInterface
+    public interface RowReader<T> {
+        T read(ResultSet resultSet) throws SQLException;
+    }
+
+    private ResultSetStream() {
+    }
+
+    public static <T> Stream<T> of(Connection connection, PreparedQuery query, ResultSet resultSet, RowReader<T> rowReader) {
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!resultSet.next()) {
+                        return false;
+                    }
+                    action.accept(rowReader.read(resultSet));
+                    return true;
+                } catch (SQLException e) {
+                    throw new DataAccessException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            // Closing a pooled connection does not close its statements
+            try (connection) {
+                query.close();
+            } catch (SQLException e) {
+                throw new DataAccessException(e);
+            }
+        });
+    }
+}
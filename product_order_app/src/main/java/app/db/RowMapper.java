@@ -0,0 +1,15 @@
+package app.db;
+
+import app.db.ResultSetStream.RowReader;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of a result set to objects. Column indexes are resolved once in {@link #bind},
+ * the returned reader only reads by index.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    RowReader<T> bind(ResultSet resultSet) throws SQLException;
+}
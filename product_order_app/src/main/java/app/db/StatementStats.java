@@ -0,0 +1,63 @@
+package app.db;
+
+import org.postgresql.PGStatement;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution counts per SQL text, shared by all connections.
+ * <p>
+ * The driver keeps parsed queries per physical connection (preparedStatementCacheQueries) and switches a query
+ * to a named server-side prepared statement once it ran prepareThreshold times on that connection,
+ * even across closed JDBC statements. serverPrepared counts executions that went that way,
+ * so a hot query whose serverPrepared stays far below its executions is falling out of the driver cache.
+ */
+public final class StatementStats {
+    public record Entry(String sql, long executions, long serverPrepared) {
+    }
+
+    private static final Map<String, Counters> COUNTERS = new ConcurrentHashMap<>();
+
+    private StatementStats() {
+    }
+
+    static void record(String sql, Statement statement, int executions) {
+        Counters counters = COUNTERS.computeIfAbsent(sql, key -> new Counters());
+        counters.executions.add(executions);
+        if (isServerPrepared(statement)) {
+            counters.serverPrepared.add(executions);
+        }
+    }
+
+    private static boolean isServerPrepared(Statement statement) {
+        try {
+            return statement.isWrapperFor(PGStatement.class)
+                    && statement.unwrap(PGStatement.class).isUseServerPrepare();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return counters of all statements, most executed first
+     */
+    public static List<Entry> snapshot() {
+        List<Entry> result = new ArrayList<>(COUNTERS.size());
+        COUNTERS.forEach((sql, counters) ->
+                result.add(new Entry(sql, counters.executions.sum(), counters.serverPrepared.sum())));
+        result.sort(Comparator.comparingLong(Entry::executions).reversed());
+        return result;
+    }
+
+    private static final class Counters {
+        final LongAdder executions = new LongAdder();
+        final LongAdder serverPrepared = new LongAdder();
+    }
+}
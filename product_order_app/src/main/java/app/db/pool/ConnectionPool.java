@@ -0,0 +1,291 @@
+package app.db.pool;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fixed-bound JDBC connection pool.
+ * <p>
+ * Capacity is guarded by a fair semaphore: every borrowed connection holds one permit, so the number of open
+ * connections never exceeds {@link PoolConfig#maxSize()}. Idle connections are reused most-recently-returned first,
+ * which keeps the hot set small and lets the housekeeper evict the cold tail.
+ */
+public class ConnectionPool implements DataSource, AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    private final String url;
+    private final Properties connectionProperties = new Properties();
+    private final PoolConfig config;
+
+    private final Semaphore capacity;
+    private final LinkedBlockingDeque<PoolEntry> idleEntries = new LinkedBlockingDeque<>();
+    private final Set<PoolEntry> borrowedEntries = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    private final LongAdder connectionsCreated = new LongAdder();
+    private final LongAdder connectionsDestroyed = new LongAdder();
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder acquireTimeouts = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder leaksDetected = new LongAdder();
+    private final LongAdder totalAcquireNanos = new LongAdder();
+
+    public ConnectionPool(String url, String user, String password, PoolConfig config) {
+        this.url = url;
+        this.connectionProperties.setProperty("user", user);
+        this.connectionProperties.setProperty("password", password);
+        this.config = config;
+        this.capacity = new Semaphore(config.maxSize(), true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.housekeeper.scheduleWithFixedDelay(this::houseKeep, 0, config.housekeepingPeriodMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long startNanos = System.nanoTime();
+        acquirePermit();
+        try {
+            while (true) {
+                PoolEntry entry = idleEntries.pollFirst();
+                if (entry == null) {
+                    entry = createEntry();
+                } else if (config.validateOnBorrow() && !isAlive(entry)) {
+                    validationFailures.increment();
+                    destroy(entry);
+                    continue;
+                }
+                return borrow(entry, startNanos);
+            }
+        } catch (SQLException | RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    private void acquirePermit() throws SQLException {
+        checkNotClosed();
+        try {
+            if (!capacity.tryAcquire(config.acquireTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                acquireTimeouts.increment();
+                throw new SQLTransientConnectionException("Timed out after " + config.acquireTimeoutMillis()
+                        + " ms waiting for a connection. " + getMetrics());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    private Connection borrow(PoolEntry entry, long startNanos) {
+        long now = System.nanoTime();
+        entry.borrowedAtNanos = now;
+        entry.leakReported = false;
+        entry.borrowStackTrace = config.leakDetectionThresholdMillis() > 0
+                ? new Exception("Connection acquired here")
+                : null;
+        borrowedEntries.add(entry);
+        borrows.increment();
+        totalAcquireNanos.add(now - startNanos);
+        return new PooledConnection(this, entry);
+    }
+
+    /**
+     * Called by {@link PooledConnection#close()}, returns the physical connection to the pool
+     */
+    void release(PoolEntry entry, boolean broken) {
+        borrowedEntries.remove(entry);
+        try {
+            if (closed || broken) {
+                destroy(entry);
+            } else {
+                entry.resetState();
+                entry.lastReturnedNanos = System.nanoTime();
+                idleEntries.offerFirst(entry);
+            }
+        } catch (SQLException e) {
+            destroy(entry);
+        } finally {
+            capacity.release();
+        }
+    }
+
+    private PoolEntry createEntry() throws SQLException {
+        Connection connection = DriverManager.getConnection(url, connectionProperties);
+        totalConnections.incrementAndGet();
+        connectionsCreated.increment();
+        return new PoolEntry(connection);
+    }
+
+    private boolean isAlive(PoolEntry entry) {
+        try {
+            return entry.physicalConnection.isValid(config.validationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void destroy(PoolEntry entry) {
+        try {
+            entry.physicalConnection.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error while closing pooled connection", e);
+        }
+        totalConnections.decrementAndGet();
+        connectionsDestroyed.increment();
+    }
+
+    private void houseKeep() {
+        try {
+            evictIdle();
+            fillToMinimum();
+            detectLeaks();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Connection pool housekeeping failed", e);
+        }
+    }
+
+    private void evictIdle() {
+        long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.idleTimeoutMillis());
+        long now = System.nanoTime();
+        // Most recently returned entries are at the head, so walk from the cold tail
+        var iterator = idleEntries.descendingIterator();
+        while (iterator.hasNext() && totalConnections.get() > config.minSize()) {
+            PoolEntry entry = iterator.next();
+            if (now - entry.lastReturnedNanos < idleTimeoutNanos) {
+                break;
+            }
+            if (idleEntries.removeLastOccurrence(entry)) {
+                destroy(entry);
+            }
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!closed && totalConnections.get() < config.minSize() && capacity.tryAcquire()) {
+            try {
+                idleEntries.offerLast(createEntry());
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Cannot open connection to keep pool minimum size", e);
+                return;
+            } finally {
+                capacity.release();
+            }
+        }
+    }
+
+    private void detectLeaks() {
+        long threshold = config.leakDetectionThresholdMillis();
+        if (threshold <= 0) {
+            return;
+        }
+        long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(threshold);
+        long now = System.nanoTime();
+        for (PoolEntry entry : borrowedEntries) {
+            if (!entry.leakReported && now - entry.borrowedAtNanos > thresholdNanos) {
+                entry.leakReported = true;
+                leaksDetected.increment();
+                LOGGER.log(Level.WARNING, "Connection held for more than " + threshold + " ms, possible leak",
+                        entry.borrowStackTrace);
+            }
+        }
+    }
+
+    public PoolMetrics getMetrics() {
+        int idle = idleEntries.size();
+        int total = totalConnections.get();
+        return new PoolMetrics(
+                total,
+                borrowedEntries.size(),
+                idle,
+                capacity.getQueueLength(),
+                connectionsCreated.sum(),
+                connectionsDestroyed.sum(),
+                borrows.sum(),
+                acquireTimeouts.sum(),
+                validationFailures.sum(),
+                leaksDetected.sum(),
+                totalAcquireNanos.sum()
+        );
+    }
+
+    private void checkNotClosed() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PoolEntry entry;
+        while ((entry = idleEntries.pollFirst()) != null) {
+            destroy(entry);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pool connections always use configured credentials");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() {
+        return LOGGER;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
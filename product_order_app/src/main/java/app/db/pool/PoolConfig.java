@@ -0,0 +1,26 @@
+package app.db.pool;
+
+/**
+ * @param minSize                      connections kept open even when idle
+ * @param maxSize                      upper bound of open connections
+ * @param acquireTimeoutMillis         how long getConnection waits for a free connection before failing
+ * @param idleTimeoutMillis            idle connections above minSize are closed after this time
+ * @param validateOnBorrow             check connection liveness before handing it out
+ * @param validationTimeoutSeconds     timeout passed to {@link java.sql.Connection#isValid(int)}
+ * @param leakDetectionThresholdMillis connection held longer than this is reported as possible leak, 0 disables
+ * @param housekeepingPeriodMillis     period of idle eviction and leak detection
+ */
+public record PoolConfig(int minSize,
+                         int maxSize,
+                         long acquireTimeoutMillis,
+                         long idleTimeoutMillis,
+                         boolean validateOnBorrow,
+                         int validationTimeoutSeconds,
+                         long leakDetectionThresholdMillis,
+                         long housekeepingPeriodMillis) {
+    public PoolConfig {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min = " + minSize + ", max = " + maxSize);
+        }
+    }
+}
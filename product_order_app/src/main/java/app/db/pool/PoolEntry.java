@@ -0,0 +1,31 @@
+package app.db.pool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Physical connection owned by the pool together with its bookkeeping state
+ */
+class PoolEntry {
+    final Connection physicalConnection;
+    volatile long lastReturnedNanos;
+    volatile long borrowedAtNanos;
+    volatile Exception borrowStackTrace;
+    volatile boolean leakReported;
+
+    PoolEntry(Connection physicalConnection) {
+        this.physicalConnection = physicalConnection;
+        this.lastReturnedNanos = System.nanoTime();
+    }
+
+    void resetState() throws SQLException {
+        if (!physicalConnection.getAutoCommit()) {
+            physicalConnection.rollback();
+            physicalConnection.setAutoCommit(true);
+        }
+        if (physicalConnection.isReadOnly()) {
+            physicalConnection.setReadOnly(false);
+        }
+        physicalConnection.clearWarnings();
+    }
+}
@@ -0,0 +1,20 @@
+package app.db.pool;
+
+/**
+ * Point-in-time snapshot of connection pool counters
+ */
+public record PoolMetrics(int totalConnections,
+                          int activeConnections,
+                          int idleConnections,
+                          int waitingThreads,
+                          long connectionsCreated,
+                          long connectionsDestroyed,
+                          long borrows,
+                          long acquireTimeouts,
+                          long validationFailures,
+                          long leaksDetected,
+                          long totalAcquireNanos) {
+    public double averageAcquireMillis() {
+        return borrows == 0 ? 0.0 : totalAcquireNanos / 1_000_000.0 / borrows;
+    }
+}
@@ -0,0 +1,69 @@
+package app.db.routing;
+
+import app.db.pool.ConnectionPool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Read replica with its own pool. Starts out of rotation until the first successful health check.
+ */
+final class Replica implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(Replica.class.getName());
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final ConnectionPool pool;
+    private volatile boolean healthy;
+
+    Replica(String url, ConnectionPool pool) {
+        this.url = url;
+        this.pool = pool;
+    }
+
+    Connection getConnection() throws SQLException {
+        return pool.getConnection();
+    }
+
+    boolean isHealthy() {
+        return healthy;
+    }
+
+    void checkHealth() {
+        try (Connection connection = pool.getConnection()) {
+            setHealthy(connection.isValid(VALIDATION_TIMEOUT_SECONDS), null);
+        } catch (SQLTransientConnectionException e) {
+            // All connections are borrowed, which says nothing about the replica, the next check decides
+            LOGGER.fine("Replica " + url + " skipped health check, pool exhausted");
+        } catch (SQLException e) {
+            setHealthy(false, e);
+        }
+    }
+
+    /**
+     * Takes the replica out of rotation until the next successful health check
+     */
+    void markUnhealthy(SQLException cause) {
+        setHealthy(false, cause);
+    }
+
+    private void setHealthy(boolean healthy, SQLException cause) {
+        if (this.healthy != healthy) {
+            LOGGER.log(healthy ? Level.INFO : Level.WARNING,
+                    "Replica " + url + (healthy ? " is back in rotation" : " is out of rotation"), cause);
+        }
+        this.healthy = healthy;
+    }
+
+    ReplicaStatus getStatus() {
+        return new ReplicaStatus(url, healthy, pool.getMetrics());
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+}
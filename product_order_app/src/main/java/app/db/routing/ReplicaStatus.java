@@ -0,0 +1,6 @@
+package app.db.routing;
+
+import app.db.pool.PoolMetrics;
+
+public record ReplicaStatus(String url, boolean healthy, PoolMetrics pool) {
+}
@@ -0,0 +1,205 @@
+package app.db.routing;
+
+import app.db.DatabaseConfig;
+import app.db.pool.ConnectionPool;
+import app.db.pool.PoolConfig;
+import controllerlib.exposed.RequestIntent;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Hands out replica connections for {@link RequestIntent#READ} and primary connections for everything else.
+ * <p>
+ * Healthy replicas are used round robin. A replica which fails to give a connection is taken out of rotation
+ * at once and the request falls back to the primary; a periodic health check puts it back. When the replica pool
+ * is only exhausted, the request also falls back but the replica stays in rotation.
+ * <p>
+ * All reads of one controller invocation go to the database chosen for its first read, see
+ * {@link RequestIntent#setReadTarget}. Replicas lag by different amounts, so e.g. a table version read from one
+ * replica and rows read from another could pair a new ETag with an old body. The only switch is from a failed
+ * replica to the primary, which is never behind.
+ */
+public class RoutingDataSource implements DataSource, AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(RoutingDataSource.class.getName());
+
+    private final ConnectionPool primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    /**
+     * @param primary pool of the primary, replica pools are created with the same credentials and settings,
+     *                except that they never wait for a free connection, see {@link #replicaPoolConfig}
+     */
+    public RoutingDataSource(ConnectionPool primary, DatabaseConfig config) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>(config.replicaUrls().size());
+        PoolConfig replicaPoolConfig = replicaPoolConfig(config.poolConfig());
+        for (String url : config.replicaUrls()) {
+            replicas.add(new Replica(url, new ConnectionPool(url, config.user(), config.password(), replicaPoolConfig)));
+        }
+        if (replicas.isEmpty()) {
+            this.healthChecker = null;
+            return;
+        }
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.healthChecker.scheduleWithFixedDelay(this::checkReplicas, 0, config.replicaHealthCheckPeriodMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * An exhausted replica pool fails at once, so the read falls back to the primary instead of waiting
+     * the full acquire timeout first
+     */
+    private static PoolConfig replicaPoolConfig(PoolConfig config) {
+        return new PoolConfig(config.minSize(), config.maxSize(), 0, config.idleTimeoutMillis(),
+                config.validateOnBorrow(), config.validationTimeoutSeconds(), config.leakDetectionThresholdMillis(),
+                config.housekeepingPeriodMillis());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (RequestIntent.current() == RequestIntent.READ) {
+            Object readTarget = RequestIntent.getReadTarget();
+            if (readTarget instanceof Replica pinned) {
+                Connection connection = tryReplica(pinned);
+                if (connection != null) {
+                    return connection;
+                }
+            } else if (readTarget == null) {
+                Connection connection = getReplicaConnection();
+                if (connection != null) {
+                    return connection;
+                }
+            }
+            RequestIntent.setReadTarget(primary);
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * Whether reads of the current invocation went to a replica, so their results may lag behind the primary
+     */
+    public static boolean isReadingFromReplica() {
+        return RequestIntent.getReadTarget() instanceof Replica;
+    }
+
+    /**
+     * @return null if no replica is healthy
+     */
+    private Connection getReplicaConnection() {
+        int count = replicas.size();
+        if (count == 0) {
+            return null;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((start + i) % count);
+            Connection connection = tryReplica(replica);
+            if (connection != null) {
+                RequestIntent.setReadTarget(replica);
+                return connection;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return null if the replica is unhealthy or its pool is exhausted
+     */
+    private static Connection tryReplica(Replica replica) {
+        if (!replica.isHealthy()) {
+            return null;
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLTransientConnectionException e) {
+            // Pool is busy, the replica itself is fine
+        } catch (SQLException e) {
+            replica.markUnhealthy(e);
+        }
+        return null;
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            replica.checkHealth();
+        }
+    }
+
+    public List<ReplicaStatus> getReplicaStatuses() {
+        List<ReplicaStatus> statuses = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            statuses.add(replica.getStatus());
+        }
+        return statuses;
+    }
+
+    /**
+     * Closes replica pools, the primary pool is owned by the caller
+     */
+    @Override
+    public void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        replicas.forEach(Replica::close);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pool connections always use configured credentials");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() {
+        return LOGGER;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
@@ -0,0 +1,23 @@
+package app.dto;
+
+import app.db.StatementStats;
+import app.db.pool.PoolMetrics;
+import app.db.routing.ReplicaStatus;
+import app.repositories.cache.EntityCacheStats;
+import app.search.ProductSearchIndexStats;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DatabaseStatsDto {
+    private PoolMetrics pool;
+    private List<ReplicaStatus> replicas;
+    private EntityCacheStats vendorCache;
+    private List<StatementStats.Entry> statements;
+    private ProductSearchIndexStats productSearchIndex;
+}
@@ -0,0 +1,21 @@
+package app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Order with its lines, every line with its product and the product's vendor
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderDetailsDto {
+    private int id;
+    private BigDecimal cost;
+    private String description;
+    private List<OrderLineDto> lines;
+}
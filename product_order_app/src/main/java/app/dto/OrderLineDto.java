@@ -0,0 +1,13 @@
+package app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderLineDto {
+    private int amount;
+    private ProductResponseDto product;
+}
@@ -0,0 +1,16 @@
+package app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderResponseDto {
+    private int id;
+    private BigDecimal cost;
+    private String description;
+}
@@ -0,0 +1,15 @@
+package app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderViewDto {
+    private String description;
+    private List<OrderLineViewDto> lines;
+}
@@ -0,0 +1,18 @@
+package app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * nextCursor - value for the "after" query parameter to get the next page, null on the last page
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageDto<T> {
+    private List<T> items;
+    private Integer nextCursor;
+}
@@ -0,0 +1,18 @@
+package app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductResponseDto {
+    private int id;
+    private String name;
+    private BigDecimal price;
+    private String description;
+    private VendorResponseDto vendor;
+}
@@ -0,0 +1,19 @@
+package app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSearchHitDto {
+    private int id;
+    private String name;
+    private BigDecimal price;
+    private String description;
+    private Integer vendorId;
+    private double score;
+}
@@ -0,0 +1,16 @@
+package app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VendorSalesDto {
+    private int vendorId;
+    private long units;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,16 @@
+package app.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class OrderEntity {
+    private int id;
+    @NonNull
+    private BigDecimal cost;
+    private String description;
+}
@@ -0,0 +1,19 @@
+package app.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class ProductEntity {
+    private int id;
+    @NonNull
+    private String name;
+    @NonNull
+    private BigDecimal price;
+    private String description;
+    private Integer vendorId;
+}
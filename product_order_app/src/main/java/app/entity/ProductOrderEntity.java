@@ -0,0 +1,12 @@
+package app.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ProductOrderEntity {
+    private int productId;
+    private int orderId;
+    private int amount;
+}
@@ -0,0 +1,15 @@
+package app.entity;
+
+/**
+ * Change counter of a table, bumped by triggers on every modifying statement
+ *
+ * @param modifiedAt epoch millis of the last change
+ */
+public record TableVersionEntity(String tableName, long version, long modifiedAt) {
+    /**
+     * @return opaque tag which changes whenever the table changes
+     */
+    public String toTag() {
+        return tableName + "-" + version;
+    }
+}
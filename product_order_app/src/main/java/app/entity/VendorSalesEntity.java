@@ -0,0 +1,17 @@
+package app.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Sales of all products of a vendor, summed over order lines
+ */
+@Data
+@AllArgsConstructor
+public class VendorSalesEntity {
+    private int vendorId;
+    private long units;
+    private BigDecimal revenue;
+}
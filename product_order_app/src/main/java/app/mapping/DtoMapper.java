@@ -0,0 +1,117 @@
+package app.mapping;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies properties of a source object into a new target object.
+ * <p>
+ * Every target setter must have a source getter with the same property name and compatible type.
+ * This is checked once in {@link #compile}, which also resolves a method handle per property,
+ * so mapping itself does not use reflection.
+ */
+public final class DtoMapper<S, T> {
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType COPIER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final MethodHandle constructor;
+    /**
+     * (target, source) -> target.setX(source.getX())
+     */
+    private final MethodHandle[] propertyCopiers;
+
+    private DtoMapper(MethodHandle constructor, MethodHandle[] propertyCopiers) {
+        this.constructor = constructor;
+        this.propertyCopiers = propertyCopiers;
+    }
+
+    /**
+     * @throws MappingConfigurationException if target has no public no-args constructor
+     *                                       or any of its properties cannot be filled from source
+     */
+    public static <S, T> DtoMapper<S, T> compile(Class<S> sourceType, Class<T> targetType) {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        try {
+            MethodHandle constructor = lookup
+                    .findConstructor(targetType, MethodType.methodType(void.class))
+                    .asType(CONSTRUCTOR_TYPE);
+
+            List<MethodHandle> copiers = new ArrayList<>();
+            for (Method setter : targetType.getMethods()) {
+                if (!isSetter(setter)) {
+                    continue;
+                }
+                String property = setter.getName().substring(3);
+                Class<?> propertyType = setter.getParameterTypes()[0];
+                Method getter = findGetter(sourceType, property, propertyType);
+                if (getter == null) {
+                    throw new MappingConfigurationException(sourceType, targetType,
+                            "no getter for property " + property + " of type " + propertyType.getSimpleName());
+                }
+                MethodHandle copier = MethodHandles.filterArguments(lookup.unreflect(setter), 1, lookup.unreflect(getter));
+                copiers.add(copier.asType(COPIER_TYPE));
+            }
+            return new DtoMapper<>(constructor, copiers.toArray(new MethodHandle[0]));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new MappingConfigurationException(sourceType, targetType, e.getMessage());
+        }
+    }
+
+    private static boolean isSetter(Method method) {
+        return method.getName().startsWith("set")
+                && method.getName().length() > 3
+                && method.getParameterCount() == 1
+                && !Modifier.isStatic(method.getModifiers());
+    }
+
+    private static Method findGetter(Class<?> sourceType, String property, Class<?> propertyType) {
+        for (String prefix : new String[]{"get", "is"}) {
+            try {
+                Method getter = sourceType.getMethod(prefix + property);
+                if (isCompatible(getter.getReturnType(), propertyType)) {
+                    return getter;
+                }
+            } catch (NoSuchMethodException ignored) {
+            }
+        }
+        return null;
+    }
+
+    private static boolean isCompatible(Class<?> getterType, Class<?> setterType) {
+        if (getterType.isPrimitive() || setterType.isPrimitive()) {
+            return getterType.equals(setterType);
+        }
+        return setterType.isAssignableFrom(getterType);
+    }
+
+    @SuppressWarnings("unchecked")
+    public T map(S source) {
+        if (source == null) {
+            return null;
+        }
+        try {
+            Object target = constructor.invokeExact();
+            for (MethodHandle copier : propertyCopiers) {
+                copier.invokeExact(target, (Object) source);
+            }
+            return (T) target;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public List<T> mapAll(List<? extends S> sources) {
+        List<T> result = new ArrayList<>(sources.size());
+        for (S source : sources) {
+            result.add(map(source));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,20 @@
+package app.mapping;
+
+import app.dto.VendorResponseDto;
+import app.dto.VendorSalesDto;
+import app.entity.VendorEntity;
+import app.entity.VendorSalesEntity;
+
+/**
+ * All entity to DTO mappers of the application. They are compiled and verified when this class is loaded,
+ * which happens when the first controller using them is initialized.
+ */
+public final class Mappers {
+    public static final DtoMapper<VendorEntity, VendorResponseDto> VENDOR_RESPONSE =
+            DtoMapper.compile(VendorEntity.class, VendorResponseDto.class);
+    public static final DtoMapper<VendorSalesEntity, VendorSalesDto> VENDOR_SALES =
+            DtoMapper.compile(VendorSalesEntity.class, VendorSalesDto.class);
+
+    private Mappers() {
+    }
+}
@@ -0,0 +1,7 @@
+package app.mapping;
+
+public class MappingConfigurationException extends RuntimeException {
+    public MappingConfigurationException(Class<?> sourceType, Class<?> targetType, String reason) {
+        super("Cannot map " + sourceType.getName() + " to " + targetType.getName() + ": " + reason);
+    }
+}
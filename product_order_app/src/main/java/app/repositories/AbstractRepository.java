@@ -0,0 +1,118 @@
+package app.repositories;
+
+import app.db.Database;
+import app.db.PreparedQuery;
+import app.db.ResultSetStream;
+import app.db.ResultSetStream.RowReader;
+import app.db.RowMapper;
+import app.exceptions.EntityNotFoundException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Base of repositories which read one entity type with a {@link RowMapper}
+ */
+public abstract class AbstractRepository<T> {
+    protected static final int DEFAULT_EXPECTED_ROWS = 16;
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    protected final DataSource dataSource;
+    private final RowMapper<T> rowMapper;
+
+    protected AbstractRepository(RowMapper<T> rowMapper) {
+        this(Database.getDataSource(), rowMapper);
+    }
+
+    protected AbstractRepository(DataSource dataSource, RowMapper<T> rowMapper) {
+        this.dataSource = dataSource;
+        this.rowMapper = rowMapper;
+    }
+
+    /**
+     * @param expectedRows capacity of the returned list, e.g. the LIMIT of the query
+     */
+    protected List<T> queryList(String sql, int expectedRows, Object... parameters) throws SQLException {
+        try (Connection connection = getConnection();
+             PreparedQuery query = PreparedQuery.prepare(connection, sql, parameters)) {
+            return readAll(query.executeQuery(), rowMapper, expectedRows);
+        }
+    }
+
+    /**
+     * Runs a query whose only parameter is an id array, e.g. WHERE id = ANY(?), in a single round trip.
+     *
+     * @return entities in the order of ids, missing ids are skipped and repeated ids give repeated entities
+     */
+    protected List<T> queryByIds(String sql, int[] ids, ToIntFunction<T> idOf) throws SQLException {
+        List<T> rows = queryList(sql, ids.length, (Object) ids);
+        Map<Integer, T> rowsById = new HashMap<>(rows.size() * 4 / 3 + 1);
+        for (T row : rows) {
+            rowsById.put(idOf.applyAsInt(row), row);
+        }
+        List<T> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            T row = rowsById.get(id);
+            if (row != null) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    protected T querySingle(String sql, int id) throws SQLException, EntityNotFoundException {
+        try (Connection connection = getConnection();
+             PreparedQuery query = PreparedQuery.prepare(connection, sql, id)) {
+            ResultSet resultSet = query.executeQuery();
+            if (!resultSet.next()) {
+                throw new EntityNotFoundException(id);
+            }
+            return rowMapper.bind(resultSet).read(resultSet);
+        }
+    }
+
+    /**
+     * Reads rows through a server-side cursor, so at most {@value STREAM_FETCH_SIZE} rows are held in memory.
+     * The returned stream owns a connection and must be closed.
+     */
+    protected Stream<T> queryStream(String sql, Object... parameters) throws SQLException {
+        Connection connection = getConnection();
+        PreparedQuery query = null;
+        try {
+            // PostgreSQL driver uses a cursor for fetch size only inside a transaction
+            connection.setAutoCommit(false);
+            query = PreparedQuery.prepare(connection, sql, parameters);
+            query.getStatement().setFetchSize(STREAM_FETCH_SIZE);
+            ResultSet resultSet = query.executeQuery();
+            return ResultSetStream.of(connection, query, resultSet, rowMapper.bind(resultSet));
+        } catch (SQLException e) {
+            try (connection) {
+                if (query != null) {
+                    query.close();
+                }
+            }
+            throw e;
+        }
+    }
+
+    static <T> List<T> readAll(ResultSet resultSet, RowMapper<T> rowMapper, int expectedRows) throws SQLException {
+        List<T> result = new ArrayList<>(expectedRows);
+        RowReader<T> rowReader = rowMapper.bind(resultSet);
+        while (resultSet.next()) {
+            result.add(rowReader.read(resultSet));
+        }
+        return result;
+    }
+
+    protected Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+}
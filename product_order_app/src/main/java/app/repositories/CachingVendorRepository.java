@@ -0,0 +1,71 @@
+package app.repositories;
+
+import app.db.routing.RoutingDataSource;
+import app.entity.TableVersionEntity;
+import app.entity.VendorEntity;
+import app.exceptions.EntityNotFoundException;
+import app.repositories.cache.EntityCache;
+import app.repositories.cache.EntityCacheStats;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Vendor repository which serves lookups by id from a cache shared by all instances.
+ * Cached lookups take the vendor table version, so a cached vendor is never older than the validator
+ * sent with it; the inherited lookups without a version always read the database.
+ * <p>
+ * The cache lives in this JVM, every node has its own. Invalidation does not depend on write paths calling
+ * this class: every statement writing vendor, from any node, SQL console or migration, bumps the vendor
+ * table version through its trigger, and entries read at an older version are not served anymore.
+ * Limits can be tuned with system properties cache.vendor.maxSize, cache.vendor.ttlSeconds
+ * and cache.vendor.missingTtlSeconds.
+ */
+public class CachingVendorRepository extends VendorRepository {
+    private static final EntityCache<VendorEntity> CACHE = new EntityCache<>(
+            Long.getLong("cache.vendor.maxSize", 10_000),
+            Duration.ofSeconds(Long.getLong("cache.vendor.ttlSeconds", 300)),
+            Duration.ofSeconds(Long.getLong("cache.vendor.missingTtlSeconds", 30)),
+            // A vendor just created on the primary may not have reached the replica yet
+            () -> !RoutingDataSource.isReadingFromReplica()
+    );
+
+    public CachingVendorRepository() {
+    }
+
+    public CachingVendorRepository(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    /**
+     * @param version vendor table version read before, from the same database, e.g. the one sent as ETag.
+     *                Cached vendors read at an older version are loaded again.
+     */
+    public VendorEntity get(int id, TableVersionEntity version) throws SQLException, EntityNotFoundException {
+        return CACHE.get(id, version.version(), super::get);
+    }
+
+    /**
+     * @param version see {@link #get(int, TableVersionEntity)}
+     */
+    public List<VendorEntity> getAll(int[] ids, TableVersionEntity version) throws SQLException {
+        return CACHE.getAll(ids, version.version(), VendorEntity::getId, super::getAll);
+    }
+
+    @Override
+    public int[] createAll(List<VendorEntity> vendors) throws SQLException {
+        int[] ids = super.createAll(vendors);
+        // New ids may have been cached as missing. The version bump already makes those entries stale,
+        // this only drops them at once instead of keeping them until they expire.
+        for (int id : ids) {
+            CACHE.invalidate(id);
+        }
+        return ids;
+    }
+
+    public static EntityCacheStats getCacheStats() {
+        return CACHE.getStats();
+    }
+}
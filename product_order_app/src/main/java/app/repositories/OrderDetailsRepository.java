@@ -0,0 +1,165 @@
+package app.repositories;
+
+import app.db.Database;
+import app.db.PreparedQuery;
+import app.dto.OrderDetailsDto;
+import app.dto.OrderLineDto;
+import app.dto.ProductResponseDto;
+import app.dto.VendorResponseDto;
+import app.exceptions.EntityNotFoundException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads orders together with their lines, products and vendors with a single join query per request,
+ * and builds the DTO graph in one pass over the rows
+ */
+public class OrderDetailsRepository {
+    // MONEY is cast to NUMERIC, the driver can not read it as BigDecimal
+    private static final String SELECT_COLUMNS = """
+            SELECT o.id AS order_id, o.cost::numeric AS order_cost, o.description AS order_description,
+                   po.amount AS amount,
+                   p.id AS product_id, p.name AS product_name, p.price::numeric AS product_price,
+                   p.description AS product_description,
+                   v.id AS vendor_id, v.name AS vendor_name, v.address AS vendor_address
+            """;
+    private static final String JOIN_LINES = """
+            LEFT JOIN product_orders po ON po.order_id = o.id
+            LEFT JOIN product p ON p.id = po.product_id
+            LEFT JOIN vendor v ON v.id = p.vendor_id
+            """;
+
+    private final DataSource dataSource;
+
+    public OrderDetailsRepository() {
+        this(Database.getDataSource());
+    }
+
+    public OrderDetailsRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public OrderDetailsDto get(int id) throws SQLException, EntityNotFoundException {
+        String sql = SELECT_COLUMNS + "FROM orders o\n" + JOIN_LINES + """
+                WHERE o.id = ?
+                ORDER BY po.product_id;
+                """;
+        List<OrderDetailsDto> result = query(sql, 1, id);
+        if (result.isEmpty()) {
+            throw new EntityNotFoundException(id);
+        }
+        return result.get(0);
+    }
+
+    /**
+     * Keyset pagination over orders: at most limit orders with id greater than afterId, ordered by id.
+     * The page is selected first, so the limit counts orders and not joined rows.
+     */
+    public List<OrderDetailsDto> getPage(int afterId, int limit) throws SQLException {
+        String sql = SELECT_COLUMNS + """
+                FROM (
+                    SELECT id, cost, description FROM orders
+                    WHERE id > ?
+                    ORDER BY id
+                    LIMIT ?
+                ) o
+                """ + JOIN_LINES + """
+                ORDER BY o.id, po.product_id;
+                """;
+        return query(sql, limit, afterId, limit);
+    }
+
+    private List<OrderDetailsDto> query(String sql, int expectedOrders, Object... parameters) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedQuery query = PreparedQuery.prepare(connection, sql, parameters)) {
+            return new Hydrator(query.executeQuery(), expectedOrders).readAll();
+        }
+    }
+
+    /**
+     * Rows come ordered by order id, so an order is complete when the order id changes.
+     * Products and vendors shared by several lines are created once per query.
+     */
+    private static final class Hydrator {
+        private final ResultSet resultSet;
+        private final int expectedOrders;
+        private final Map<Integer, ProductResponseDto> products = new HashMap<>();
+        private final Map<Integer, VendorResponseDto> vendors = new HashMap<>();
+        private final int orderId;
+        private final int orderCost;
+        private final int orderDescription;
+        private final int amount;
+        private final int productId;
+        private final int productName;
+        private final int productPrice;
+        private final int productDescription;
+        private final int vendorId;
+        private final int vendorName;
+        private final int vendorAddress;
+
+        Hydrator(ResultSet resultSet, int expectedOrders) throws SQLException {
+            this.resultSet = resultSet;
+            this.expectedOrders = expectedOrders;
+            this.orderId = resultSet.findColumn("order_id");
+            this.orderCost = resultSet.findColumn("order_cost");
+            this.orderDescription = resultSet.findColumn("order_description");
+            this.amount = resultSet.findColumn("amount");
+            this.productId = resultSet.findColumn("product_id");
+            this.productName = resultSet.findColumn("product_name");
+            this.productPrice = resultSet.findColumn("product_price");
+            this.productDescription = resultSet.findColumn("product_description");
+            this.vendorId = resultSet.findColumn("vendor_id");
+            this.vendorName = resultSet.findColumn("vendor_name");
+            this.vendorAddress = resultSet.findColumn("vendor_address");
+        }
+
+        List<OrderDetailsDto> readAll() throws SQLException {
+            List<OrderDetailsDto> orders = new ArrayList<>(expectedOrders);
+            OrderDetailsDto current = null;
+            while (resultSet.next()) {
+                int id = resultSet.getInt(orderId);
+                if (current == null || current.getId() != id) {
+                    current = new OrderDetailsDto(id, resultSet.getBigDecimal(orderCost),
+                            resultSet.getString(orderDescription), new ArrayList<>());
+                    orders.add(current);
+                }
+                int product = resultSet.getInt(productId);
+                // Order without lines produces one row with null line columns
+                if (!resultSet.wasNull()) {
+                    current.getLines().add(new OrderLineDto(resultSet.getInt(amount), readProduct(product)));
+                }
+            }
+            return orders;
+        }
+
+        private ProductResponseDto readProduct(int id) throws SQLException {
+            ProductResponseDto product = products.get(id);
+            if (product == null) {
+                product = new ProductResponseDto(id, resultSet.getString(productName), resultSet.getBigDecimal(productPrice),
+                        resultSet.getString(productDescription), readVendor());
+                products.put(id, product);
+            }
+            return product;
+        }
+
+        private VendorResponseDto readVendor() throws SQLException {
+            int id = resultSet.getInt(vendorId);
+            if (resultSet.wasNull()) {
+                return null;
+            }
+            VendorResponseDto vendor = vendors.get(id);
+            if (vendor == null) {
+                vendor = new VendorResponseDto(id, resultSet.getString(vendorName), resultSet.getString(vendorAddress));
+                vendors.put(id, vendor);
+            }
+            return vendor;
+        }
+    }
+}
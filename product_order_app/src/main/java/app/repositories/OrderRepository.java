@@ -0,0 +1,100 @@
+package app.repositories;
+
+import app.db.PreparedQuery;
+import app.db.RowMapper;
+import app.entity.OrderEntity;
+import app.exceptions.EntityNotFoundException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+public class OrderRepository extends AbstractRepository<OrderEntity> {
+    static final RowMapper<OrderEntity> ROW_MAPPER = resultSet -> {
+        int id = resultSet.findColumn("id");
+        int cost = resultSet.findColumn("cost");
+        int description = resultSet.findColumn("description");
+        return row -> new OrderEntity(row.getInt(id), row.getBigDecimal(cost), row.getString(description));
+    };
+
+    public OrderRepository() {
+        super(ROW_MAPPER);
+    }
+
+    public OrderRepository(DataSource dataSource) {
+        super(dataSource, ROW_MAPPER);
+    }
+
+    /**
+     * Keyset pagination: reads at most limit orders with id greater than afterId, ordered by id
+     */
+    public List<OrderEntity> getPage(int afterId, int limit) throws SQLException {
+        // MONEY is cast to NUMERIC, the driver can not read it as BigDecimal
+        String sql = """
+                SELECT id, cost::numeric AS cost, description FROM orders
+                WHERE id > ?
+                ORDER BY id
+                LIMIT ?;
+                """;
+        return queryList(sql, limit, afterId, limit);
+    }
+
+    public OrderEntity get(int id) throws SQLException, EntityNotFoundException {
+        String sql = """
+                SELECT id, cost::numeric AS cost, description FROM orders
+                WHERE id = ?;
+                """;
+        return querySingle(sql, id);
+    }
+
+    /**
+     * Creates an order with its lines in one statement, so in one round trip and one transaction.
+     * Cost is the sum of current product prices times amounts, every line keeps the price it was charged at.
+     *
+     * @param productIds distinct product ids
+     * @param amounts    amount of every product, in the order of productIds
+     * @throws EntityNotFoundException with the id of an unknown product, nothing is created then
+     */
+    public OrderEntity create(String description, int[] productIds, int[] amounts)
+            throws SQLException, EntityNotFoundException {
+        // The order is inserted only if every product exists, otherwise the first unknown product id is returned
+        String sql = """
+                WITH line AS (
+                    SELECT product_id, amount FROM unnest(?::int[], ?::int[]) AS l(product_id, amount)
+                ),
+                priced AS (
+                    SELECT line.product_id, line.amount, product.price FROM line
+                    JOIN product ON product.id = line.product_id
+                ),
+                new_order AS (
+                    INSERT INTO orders(cost, description)
+                    SELECT SUM(price * amount), ? FROM priced
+                    HAVING COUNT(*) = (SELECT COUNT(*) FROM line)
+                    RETURNING id, cost
+                ),
+                new_lines AS (
+                    INSERT INTO product_orders(product_id, order_id, amount, unit_price)
+                    SELECT priced.product_id, new_order.id, priced.amount, priced.price FROM priced, new_order
+                )
+                SELECT id, cost::numeric AS cost, NULL::int AS missing_product_id FROM new_order
+                UNION ALL
+                (SELECT NULL, NULL, line.product_id FROM line
+                 WHERE NOT EXISTS (SELECT 1 FROM product WHERE product.id = line.product_id)
+                 LIMIT 1);
+                """;
+        try (Connection connection = getConnection();
+             PreparedQuery query = PreparedQuery.prepare(connection, sql, productIds, amounts, description)) {
+            ResultSet resultSet = query.executeQuery();
+            if (!resultSet.next()) {
+                throw new SQLException("Order was neither created nor rejected");
+            }
+            int missingProductId = resultSet.getInt("missing_product_id");
+            if (!resultSet.wasNull()) {
+                throw new EntityNotFoundException(missingProductId);
+            }
+            return new OrderEntity(resultSet.getInt("id"), resultSet.getBigDecimal("cost"), description);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package app.repositories;
+
+import app.db.RowMapper;
+import app.entity.ProductOrderEntity;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Order lines, i.e. rows of product_orders
+ */
+public class ProductOrderRepository extends AbstractRepository<ProductOrderEntity> {
+    static final RowMapper<ProductOrderEntity> ROW_MAPPER = resultSet -> {
+        int productId = resultSet.findColumn("product_id");
+        int orderId = resultSet.findColumn("order_id");
+        int amount = resultSet.findColumn("amount");
+        return row -> new ProductOrderEntity(row.getInt(productId), row.getInt(orderId), row.getInt(amount));
+    };
+
+    public ProductOrderRepository() {
+        super(ROW_MAPPER);
+    }
+
+    public ProductOrderRepository(DataSource dataSource) {
+        super(dataSource, ROW_MAPPER);
+    }
+
+    public List<ProductOrderEntity> getByOrder(int orderId) throws SQLException {
+        String sql = """
+                SELECT product_id, order_id, amount FROM product_orders
+                WHERE order_id = ?
+                ORDER BY product_id;
+                """;
+        return queryList(sql, DEFAULT_EXPECTED_ROWS, orderId);
+    }
+
+    public List<ProductOrderEntity> getByProduct(int productId) throws SQLException {
+        String sql = """
+                SELECT product_id, order_id, amount FROM product_orders
+                WHERE product_id = ?
+                ORDER BY order_id;
+                """;
+        return queryList(sql, DEFAULT_EXPECTED_ROWS, productId);
+    }
+}
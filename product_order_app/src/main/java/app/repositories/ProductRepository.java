@@ -0,0 +1,86 @@
+package app.repositories;
+
+import app.db.RowMapper;
+import app.entity.ProductEntity;
+import app.exceptions.EntityNotFoundException;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ProductRepository extends AbstractRepository<ProductEntity> {
+    static final RowMapper<ProductEntity> ROW_MAPPER = resultSet -> {
+        int id = resultSet.findColumn("id");
+        int name = resultSet.findColumn("name");
+        int price = resultSet.findColumn("price");
+        int description = resultSet.findColumn("description");
+        int vendorId = resultSet.findColumn("vendor_id");
+        return row -> {
+            int vendor = row.getInt(vendorId);
+            Integer nullableVendor = row.wasNull() ? null : vendor;
+            return new ProductEntity(row.getInt(id), row.getString(name), row.getBigDecimal(price),
+                    row.getString(description), nullableVendor);
+        };
+    };
+
+    public ProductRepository() {
+        super(ROW_MAPPER);
+    }
+
+    public ProductRepository(DataSource dataSource) {
+        super(dataSource, ROW_MAPPER);
+    }
+
+    /**
+     * Keyset pagination: reads at most limit products with id greater than afterId, ordered by id
+     */
+    public List<ProductEntity> getPage(int afterId, int limit) throws SQLException {
+        // MONEY is cast to NUMERIC, the driver can not read it as BigDecimal
+        String sql = """
+                SELECT id, name, price::numeric AS price, description, vendor_id FROM product
+                WHERE id > ?
+                ORDER BY id
+                LIMIT ?;
+                """;
+        return queryList(sql, limit, afterId, limit);
+    }
+
+    public ProductEntity get(int id) throws SQLException, EntityNotFoundException {
+        String sql = """
+                SELECT id, name, price::numeric AS price, description, vendor_id FROM product
+                WHERE id = ?;
+                """;
+        return querySingle(sql, id);
+    }
+
+    public List<ProductEntity> getByVendor(int vendorId) throws SQLException {
+        String sql = """
+                SELECT id, name, price::numeric AS price, description, vendor_id FROM product
+                WHERE vendor_id = ?
+                ORDER BY id;
+                """;
+        return queryList(sql, DEFAULT_EXPECTED_ROWS, vendorId);
+    }
+
+    /**
+     * Reads all products through a cursor, the returned stream must be closed
+     */
+    public Stream<ProductEntity> stream() throws SQLException {
+        String sql = """
+                SELECT id, name, price::numeric AS price, description, vendor_id FROM product;
+                """;
+        return queryStream(sql);
+    }
+
+    /**
+     * @return products in the order of ids, missing ids are skipped
+     */
+    public List<ProductEntity> getAll(int[] ids) throws SQLException {
+        String sql = """
+                SELECT id, name, price::numeric AS price, description, vendor_id FROM product
+                WHERE id = ANY(?);
+                """;
+        return queryByIds(sql, ids, ProductEntity::getId);
+    }
+}
@@ -0,0 +1,42 @@
+package app.repositories;
+
+import app.db.Database;
+import app.db.PreparedQuery;
+import app.entity.TableVersionEntity;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads table change counters, so a conditional request can be answered without loading the rows
+ */
+public class TableVersionRepository {
+    private final DataSource dataSource;
+
+    public TableVersionRepository() {
+        this(Database.getDataSource());
+    }
+
+    public TableVersionRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public TableVersionEntity get(String tableName) throws SQLException {
+        String sql = """
+                SELECT version, modified_at FROM table_version
+                WHERE table_name = ?;
+                """;
+        try (Connection connection = dataSource.getConnection();
+             PreparedQuery query = PreparedQuery.prepare(connection, sql, tableName)) {
+            ResultSet resultSet = query.executeQuery();
+            if (!resultSet.next()) {
+                throw new SQLException("No version is tracked for table " + tableName);
+            }
+            return new TableVersionEntity(tableName,
+                    resultSet.getLong("version"),
+                    resultSet.getTimestamp("modified_at").getTime());
+        }
+    }
+}
@@ -1,57 +1,121 @@
 package app.repositories;
 
+import app.db.PreparedQuery;
+import app.db.RowMapper;
 import app.entity.VendorEntity;
 import app.exceptions.EntityNotFoundException;
 
+import javax.sql.DataSource;
 import java.sql.*;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Stream;
 
-public class VendorRepository {
-    private static final String DB_URL = "jdbc:postgresql://localhost/product_order_db";
-    private static final String DB_USER = "product_order_admin";
-    private static final String DB_PASSWORD = "admin";
+public class VendorRepository extends AbstractRepository<VendorEntity> {
+    private static final int INSERT_CHUNK_SIZE = 1000;
+
+    static final RowMapper<VendorEntity> ROW_MAPPER = resultSet -> {
+        int id = resultSet.findColumn("id");
+        int name = resultSet.findColumn("name");
+        int address = resultSet.findColumn("address");
+        return row -> new VendorEntity(row.getInt(id), row.getString(name), row.getString(address));
+    };
+
+    public VendorRepository() {
+        super(ROW_MAPPER);
+    }
+
+    public VendorRepository(DataSource dataSource) {
+        super(dataSource, ROW_MAPPER);
+    }
 
     public List<VendorEntity> get() throws SQLException {
-        try (Connection connection = getConnection()) {
-            Statement statement = connection.createStatement();
-            String sql = """
-                    SELECT * FROM vendor;
-                    """;
-            ResultSet resultSet = statement.executeQuery(sql);
-            return readResultSet(resultSet);
-        }
+        String sql = """
+                SELECT id, name, address FROM vendor;
+                """;
+        return queryList(sql, DEFAULT_EXPECTED_ROWS);
+    }
+
+    /**
+     * Reads all vendors through a server-side cursor. The returned stream owns a connection and must be closed.
+     */
+    public Stream<VendorEntity> stream() throws SQLException {
+        String sql = """
+                SELECT id, name, address FROM vendor
+                ORDER BY id;
+                """;
+        return queryStream(sql);
+    }
+
+    /**
+     * Keyset pagination: reads at most limit vendors with id greater than afterId, ordered by id
+     */
+    public List<VendorEntity> getPage(int afterId, int limit) throws SQLException {
+        String sql = """
+                SELECT id, name, address FROM vendor
+                WHERE id > ?
+                ORDER BY id
+                LIMIT ?;
+                """;
+        return queryList(sql, limit, afterId, limit);
     }
 
     public VendorEntity get(int id) throws SQLException, EntityNotFoundException {
+        String sql = """
+                SELECT id, name, address FROM vendor
+                WHERE id = ?;
+                """;
+        return querySingle(sql, id);
+    }
+
+    /**
+     * @return vendors in the order of ids, missing ids are skipped
+     */
+    public List<VendorEntity> getAll(int[] ids) throws SQLException {
+        String sql = """
+                SELECT id, name, address FROM vendor
+                WHERE id = ANY(?);
+                """;
+        return queryByIds(sql, ids, VendorEntity::getId);
+    }
+
+    /**
+     * Inserts vendors with JDBC batches of {@value INSERT_CHUNK_SIZE} rows, every batch is committed separately.
+     * If a batch fails, previously committed batches stay in the database.
+     *
+     * @return generated ids in the order of given vendors
+     */
+    public int[] createAll(List<VendorEntity> vendors) throws SQLException {
+        int[] ids = new int[vendors.size()];
         try (Connection connection = getConnection()) {
+            connection.setAutoCommit(false);
+            // No trailing semicolon: the driver appends RETURNING and rewrites the batch into multi-row inserts
             String sql = """
-                    SELECT * FROM vendor
-                    WHERE id = ?;
+                    INSERT INTO vendor(name, address)
+                    VALUES (?, ?)
                     """;
-            PreparedStatement statement = connection.prepareStatement(sql);
-            statement.setInt(1, id);
-            ResultSet resultSet = statement.executeQuery();
-            List<VendorEntity> result = readResultSet(resultSet);
-            if (result.isEmpty()) {
-                throw new EntityNotFoundException(id);
+            try (PreparedQuery query = PreparedQuery.prepareInsert(connection, sql, "id")) {
+                PreparedStatement statement = query.getStatement();
+                int idsRead = 0;
+                for (int chunkStart = 0; chunkStart < vendors.size(); chunkStart += INSERT_CHUNK_SIZE) {
+                    int chunkEnd = Math.min(chunkStart + INSERT_CHUNK_SIZE, vendors.size());
+                    for (VendorEntity vendor : vendors.subList(chunkStart, chunkEnd)) {
+                        statement.setString(1, vendor.getName());
+                        statement.setString(2, vendor.getAddress());
+                        statement.addBatch();
+                    }
+                    query.executeBatch();
+                    try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                        while (generatedKeys.next()) {
+                            ids[idsRead++] = generatedKeys.getInt(1);
+                        }
+                    }
+                    connection.commit();
+                }
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
             }
-            return result.get(0);
         }
-    }
-
-    private static List<VendorEntity> readResultSet(ResultSet resultSet) throws SQLException {
-        List<VendorEntity> result = new LinkedList<>();
-        while (resultSet.next()) {
-            int id = resultSet.getInt("id");
-            String name = resultSet.getString("name");
-            String address = resultSet.getString("address");
-            result.add(new VendorEntity(id, name, address));
-        }
-        return result;
-    }
-
-    private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        return ids;
     }
 }
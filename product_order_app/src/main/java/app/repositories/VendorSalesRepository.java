@@ -0,0 +1,63 @@
+package app.repositories;
+
+import app.db.RowMapper;
+import app.entity.VendorSalesEntity;
+import app.exceptions.EntityNotFoundException;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Reads vendor_sales, which triggers keep equal to summing product_orders joined with product.
+ * A vendor has at most 8 slot rows, so a read costs the same however many orders there are.
+ */
+public class VendorSalesRepository extends AbstractRepository<VendorSalesEntity> {
+    static final RowMapper<VendorSalesEntity> ROW_MAPPER = resultSet -> {
+        int vendorId = resultSet.findColumn("vendor_id");
+        int units = resultSet.findColumn("units");
+        int revenue = resultSet.findColumn("revenue");
+        return row -> new VendorSalesEntity(row.getInt(vendorId), row.getLong(units), row.getBigDecimal(revenue));
+    };
+
+    public VendorSalesRepository() {
+        super(ROW_MAPPER);
+    }
+
+    public VendorSalesRepository(DataSource dataSource) {
+        super(dataSource, ROW_MAPPER);
+    }
+
+    /**
+     * @throws EntityNotFoundException if there is no such vendor, a vendor without sales has zero units
+     */
+    public VendorSalesEntity get(int vendorId) throws SQLException, EntityNotFoundException {
+        // MONEY is cast to NUMERIC, the driver can not read it as BigDecimal
+        String sql = """
+                SELECT vendor.id AS vendor_id,
+                       COALESCE(SUM(vendor_sales.units), 0) AS units,
+                       COALESCE(SUM(vendor_sales.revenue), 0::money)::numeric AS revenue
+                FROM vendor
+                LEFT JOIN vendor_sales ON vendor_sales.vendor_id = vendor.id
+                WHERE vendor.id = ?
+                GROUP BY vendor.id;
+                """;
+        return querySingle(sql, vendorId);
+    }
+
+    /**
+     * @return sales in the order of vendorIds, unknown vendors are skipped
+     */
+    public List<VendorSalesEntity> getAll(int[] vendorIds) throws SQLException {
+        String sql = """
+                SELECT vendor.id AS vendor_id,
+                       COALESCE(SUM(vendor_sales.units), 0) AS units,
+                       COALESCE(SUM(vendor_sales.revenue), 0::money)::numeric AS revenue
+                FROM vendor
+                LEFT JOIN vendor_sales ON vendor_sales.vendor_id = vendor.id
+                WHERE vendor.id = ANY(?)
+                GROUP BY vendor.id;
+                """;
+        return queryByIds(sql, vendorIds, VendorSalesEntity::getVendorId);
+    }
+}
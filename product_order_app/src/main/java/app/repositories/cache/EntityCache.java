@@ -0,0 +1,177 @@
+package app.repositories.cache;
+
+import app.exceptions.EntityNotFoundException;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Read-through cache of entities by id.
+ * Ids which were not found are remembered separately with their own, usually shorter, time to live.
+ * <p>
+ * Every lookup names the version of the source table it needs, e.g. the one sent as ETag, and every entry keeps
+ * the version it was loaded at. Entries older than the requested version count as absent, so a change made
+ * anywhere, not only through this cache, is seen as soon as its version is. The loader must return data which is
+ * at least as new as the requested version, i.e. the version has to be read first and from the same database.
+ */
+public class EntityCache<T> {
+    @FunctionalInterface
+    public interface EntityLoader<T> {
+        T load(int id) throws SQLException, EntityNotFoundException;
+    }
+
+    @FunctionalInterface
+    public interface BulkEntityLoader<T> {
+        List<T> load(int[] ids) throws SQLException;
+    }
+
+    private record Versioned<T>(T entity, long version) {
+    }
+
+    private final Cache<Integer, Versioned<T>> entities;
+    /**
+     * Version at which the id was not found
+     */
+    private final Cache<Integer, Long> missingIds;
+    private final BooleanSupplier missingMayBeCached;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public EntityCache(long maxSize, Duration timeToLive, Duration missingTimeToLive) {
+        this(maxSize, timeToLive, missingTimeToLive, () -> true);
+    }
+
+    /**
+     * @param missingMayBeCached asked right after a load which did not find some ids, e.g. false when the load
+     *                           read a lagging replica, where an entity just created may not exist yet
+     */
+    public EntityCache(long maxSize, Duration timeToLive, Duration missingTimeToLive,
+                       BooleanSupplier missingMayBeCached) {
+        this.missingMayBeCached = missingMayBeCached;
+        this.entities = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        this.missingIds = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(missingTimeToLive)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param version version of the source table the result must be at least as new as
+     */
+    public T get(int id, long version, EntityLoader<T> loader) throws SQLException, EntityNotFoundException {
+        Versioned<T> cached = entities.getIfPresent(id);
+        if (cached != null && cached.version() >= version) {
+            hits.increment();
+            return cached.entity();
+        }
+        if (isKnownMissing(id, version)) {
+            negativeHits.increment();
+            throw new EntityNotFoundException(id);
+        }
+
+        misses.increment();
+        T entity;
+        try {
+            entity = loader.load(id);
+        } catch (EntityNotFoundException e) {
+            if (missingMayBeCached.getAsBoolean()) {
+                missingIds.put(id, version);
+            }
+            throw e;
+        }
+        entities.put(id, new Versioned<>(entity, version));
+        return entity;
+    }
+
+    /**
+     * Ids which are neither cached nor known to be missing at version are loaded with a single loader call
+     *
+     * @return entities in the order of ids, missing ids are skipped
+     */
+    public List<T> getAll(int[] ids, long version, ToIntFunction<T> idOf, BulkEntityLoader<T> loader)
+            throws SQLException {
+        Map<Integer, T> found = new HashMap<>(ids.length * 4 / 3 + 1);
+        Set<Integer> toLoad = new LinkedHashSet<>();
+        for (int id : ids) {
+            Versioned<T> cached = entities.getIfPresent(id);
+            if (cached != null && cached.version() >= version) {
+                hits.increment();
+                found.put(id, cached.entity());
+            } else if (isKnownMissing(id, version)) {
+                negativeHits.increment();
+            } else {
+                toLoad.add(id);
+            }
+        }
+
+        if (!toLoad.isEmpty()) {
+            misses.add(toLoad.size());
+            for (T entity : loader.load(toLoad.stream().mapToInt(Integer::intValue).toArray())) {
+                int id = idOf.applyAsInt(entity);
+                entities.put(id, new Versioned<>(entity, version));
+                found.put(id, entity);
+                toLoad.remove(id);
+            }
+            if (!toLoad.isEmpty() && missingMayBeCached.getAsBoolean()) {
+                for (Integer id : toLoad) {
+                    missingIds.put(id, version);
+                }
+            }
+        }
+
+        List<T> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            T entity = found.get(id);
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    private boolean isKnownMissing(int id, long version) {
+        Long missingVersion = missingIds.getIfPresent(id);
+        return missingVersion != null && missingVersion >= version;
+    }
+
+    /**
+     * Drops the entity before its version changes, e.g. right after this node wrote it
+     */
+    public void invalidate(int id) {
+        entities.invalidate(id);
+        missingIds.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        entities.invalidateAll();
+        missingIds.invalidateAll();
+    }
+
+    public EntityCacheStats getStats() {
+        return new EntityCacheStats(
+                hits.sum(),
+                negativeHits.sum(),
+                misses.sum(),
+                entities.stats().evictionCount() + missingIds.stats().evictionCount(),
+                entities.size(),
+                missingIds.size()
+        );
+    }
+}
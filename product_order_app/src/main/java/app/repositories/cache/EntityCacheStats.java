@@ -0,0 +1,16 @@
+package app.repositories.cache;
+
+/**
+ * @param hits          lookups answered with a cached entity
+ * @param negativeHits  lookups answered with a cached "not found"
+ * @param misses        lookups which went to the database
+ * @param evictions     entries removed because of size or time to live
+ * @param size          cached entities
+ * @param negativeSize  cached ids which were not found
+ */
+public record EntityCacheStats(long hits, long negativeHits, long misses, long evictions, long size, long negativeSize) {
+    public double hitRate() {
+        long lookups = hits + negativeHits + misses;
+        return lookups == 0 ? 1.0 : (double) (hits + negativeHits) / lookups;
+    }
+}
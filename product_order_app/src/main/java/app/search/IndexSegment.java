@@ -0,0 +1,135 @@
+package app.search;
+
+import app.entity.ProductEntity;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Immutable trigram index over a set of products. Postings refer to products by their ordinal in the segment.
+ */
+final class IndexSegment {
+    static final IndexSegment EMPTY = build(List.of());
+
+    private static final int NAME_HIT = 1 << 16;
+    private static final int DESCRIPTION_HIT = 1;
+    private static final int HIT_MASK = 0xFFFF;
+
+    private final ProductEntity[] products;
+    private final Map<Long, byte[]> postings;
+
+    private IndexSegment(ProductEntity[] products, Map<Long, byte[]> postings) {
+        this.products = products;
+        this.postings = postings;
+    }
+
+    static IndexSegment build(Collection<ProductEntity> products) {
+        ProductEntity[] ordered = products.toArray(new ProductEntity[0]);
+        Map<Long, OrdinalBuffer> buffers = new HashMap<>();
+        for (int ordinal = 0; ordinal < ordered.length; ordinal++) {
+            for (long key : Trigrams.forDocument(ordered[ordinal].getName(), 0)) {
+                buffers.computeIfAbsent(key, k -> new OrdinalBuffer()).add(ordinal);
+            }
+            for (long key : Trigrams.forDocument(ordered[ordinal].getDescription(), Trigrams.DESCRIPTION_FIELD)) {
+                buffers.computeIfAbsent(key, k -> new OrdinalBuffer()).add(ordinal);
+            }
+        }
+        Map<Long, byte[]> postings = new HashMap<>(buffers.size() * 4 / 3 + 1);
+        buffers.forEach((key, buffer) -> postings.put(key, PostingList.encode(buffer.ordinals, buffer.size)));
+        return new IndexSegment(ordered, postings);
+    }
+
+    /**
+     * @param queryKeys  distinct trigrams of the query, without field bits
+     * @param minMatches products matching fewer query trigrams in both name and description are skipped
+     * @param excluded   ids of products whose current version is in another segment
+     */
+    void collect(long[] queryKeys, int minMatches, Set<Integer> excluded, PriorityQueue<ProductSearchHit> hits, int limit) {
+        if (products.length == 0) {
+            return;
+        }
+        SearchScratch scratch = SearchScratch.get(products.length);
+        try {
+            for (long key : queryKeys) {
+                byte[] namePostings = postings.get(key);
+                if (namePostings != null) {
+                    PostingList.addTo(namePostings, scratch, NAME_HIT);
+                }
+                byte[] descriptionPostings = postings.get(key | Trigrams.DESCRIPTION_FIELD);
+                if (descriptionPostings != null) {
+                    PostingList.addTo(descriptionPostings, scratch, DESCRIPTION_HIT);
+                }
+            }
+            rank(scratch, queryKeys.length, minMatches, excluded, hits, limit);
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    private void rank(SearchScratch scratch, int queryTrigrams, int minMatches, Set<Integer> excluded,
+                      PriorityQueue<ProductSearchHit> hits, int limit) {
+        int maxWeight = 3 * queryTrigrams;
+        // Weight of the worst kept hit once the queue is full, cheaper candidates are skipped without allocation
+        int floor = minWeight(hits, limit, maxWeight);
+        for (int i = 0; i < scratch.touchedCount; i++) {
+            int ordinal = scratch.touched[i];
+            int counter = scratch.counters[ordinal];
+            int nameHits = counter >>> 16;
+            int descriptionHits = counter & HIT_MASK;
+            int weight = 2 * nameHits + descriptionHits;
+            if (weight < floor || Math.max(nameHits, descriptionHits) < minMatches
+                    || excluded.contains(products[ordinal].getId())) {
+                continue;
+            }
+            ProductSearchHit hit = new ProductSearchHit(products[ordinal], (double) weight / maxWeight);
+            // The queue head is the worst hit kept so far
+            if (hits.size() < limit) {
+                hits.add(hit);
+            } else if (ProductSearchHit.RANKING.compare(hit, hits.peek()) < 0) {
+                hits.poll();
+                hits.add(hit);
+            }
+            floor = minWeight(hits, limit, maxWeight);
+        }
+    }
+
+    private static int minWeight(PriorityQueue<ProductSearchHit> hits, int limit, int maxWeight) {
+        if (hits.size() < limit) {
+            return 0;
+        }
+        return (int) Math.round(hits.peek().score() * maxWeight);
+    }
+
+    Collection<ProductEntity> getProducts() {
+        return Arrays.asList(products);
+    }
+
+    int size() {
+        return products.length;
+    }
+
+    long getPostingBytes() {
+        long total = 0;
+        for (byte[] list : postings.values()) {
+            total += list.length;
+        }
+        return total;
+    }
+
+    private static final class OrdinalBuffer {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+    }
+}
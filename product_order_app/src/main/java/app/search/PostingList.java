@@ -0,0 +1,52 @@
+package app.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted document ordinals stored as varint-encoded gaps. Ordinals of a segment are dense,
+ * so most postings take a single byte instead of the four of an int array.
+ */
+final class PostingList {
+    private PostingList() {
+    }
+
+    static byte[] encode(int[] sortedOrdinals, int count) {
+        byte[] buffer = new byte[count * 5];
+        int length = 0;
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            int gap = sortedOrdinals[i] - previous;
+            previous = sortedOrdinals[i];
+            while ((gap & ~0x7F) != 0) {
+                buffer[length++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            buffer[length++] = (byte) gap;
+        }
+        return Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * Adds increment to the counter of every ordinal in the list
+     */
+    static void addTo(byte[] postings, SearchScratch scratch, int increment) {
+        int[] counters = scratch.counters;
+        int ordinal = 0;
+        int position = 0;
+        while (position < postings.length) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = postings[position++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            ordinal += gap;
+            if (counters[ordinal] == 0) {
+                scratch.touched[scratch.touchedCount++] = ordinal;
+            }
+            counters[ordinal] += increment;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package app.search;
+
+import app.entity.ProductEntity;
+
+import java.util.Comparator;
+
+/**
+ * @param score weighted share of query trigrams found in the product, name matches count twice, in (0, 1]
+ */
+public record ProductSearchHit(ProductEntity product, double score) {
+    /**
+     * Best hits first, on equal score shorter names first since they match the query more closely
+     */
+    static final Comparator<ProductSearchHit> RANKING = Comparator
+            .comparingDouble(ProductSearchHit::score).reversed()
+            .thenComparingInt(hit -> hit.product().getName().length())
+            .thenComparingInt(hit -> hit.product().getId());
+}
@@ -0,0 +1,123 @@
+package app.search;
+
+import app.entity.ProductEntity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * In-memory trigram index over product names and descriptions, with prefix and typo tolerant matching.
+ * <p>
+ * Changes go to a small delta segment which is rebuilt on every update, the large base segment is only rebuilt
+ * when the delta grows past a share of it. Searches read an immutable snapshot and never block on updates.
+ */
+public class ProductSearchIndex {
+    private static final ProductSearchIndex DEFAULT = new ProductSearchIndex();
+    private static final int MAX_QUERY_LENGTH = 100;
+    /**
+     * Share of query trigrams which must be found in the name or the description, lower values tolerate more typos
+     */
+    private static final double MIN_MATCH_RATIO = 0.4;
+    private static final int MIN_COMPACTION_THRESHOLD = 1024;
+
+    private volatile Snapshot snapshot;
+
+    public static ProductSearchIndex getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return false until the first {@link #rebuild}
+     */
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public synchronized void rebuild(Collection<ProductEntity> products) {
+        snapshot = new Snapshot(IndexSegment.build(products), IndexSegment.EMPTY, Map.of(), Set.of());
+    }
+
+    /**
+     * @param changedIds  ids of inserted, updated and deleted products
+     * @param currentRows rows of changed products which still exist
+     */
+    public synchronized void apply(Collection<Integer> changedIds, Collection<ProductEntity> currentRows) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        Map<Integer, ProductEntity> deltaProducts = new HashMap<>(current.deltaProducts());
+        Set<Integer> shadowed = new HashSet<>(current.shadowed());
+        for (Integer id : changedIds) {
+            deltaProducts.remove(id);
+            shadowed.add(id);
+        }
+        for (ProductEntity product : currentRows) {
+            deltaProducts.put(product.getId(), product);
+        }
+
+        if (shadowed.size() > Math.max(MIN_COMPACTION_THRESHOLD, current.base().size() / 8)) {
+            List<ProductEntity> merged = new ArrayList<>(current.base().size() + deltaProducts.size());
+            for (ProductEntity product : current.base().getProducts()) {
+                if (!shadowed.contains(product.getId())) {
+                    merged.add(product);
+                }
+            }
+            merged.addAll(deltaProducts.values());
+            rebuild(merged);
+            return;
+        }
+        snapshot = new Snapshot(current.base(), IndexSegment.build(deltaProducts.values()), deltaProducts, shadowed);
+    }
+
+    /**
+     * @return at most limit hits, best first. Empty if the query has no letters or digits or the index is not ready.
+     */
+    public List<ProductSearchHit> search(String query, int limit) {
+        Snapshot current = snapshot;
+        if (current == null || query == null) {
+            return List.of();
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            query = query.substring(0, MAX_QUERY_LENGTH);
+        }
+        long[] queryKeys = Trigrams.forQuery(query);
+        if (queryKeys.length == 0) {
+            return List.of();
+        }
+        int minMatches = Math.max(1, (int) Math.ceil(queryKeys.length * MIN_MATCH_RATIO));
+
+        PriorityQueue<ProductSearchHit> hits = new PriorityQueue<>(limit + 1, ProductSearchHit.RANKING.reversed());
+        current.base().collect(queryKeys, minMatches, current.shadowed(), hits, limit);
+        current.delta().collect(queryKeys, minMatches, Set.of(), hits, limit);
+
+        List<ProductSearchHit> result = new ArrayList<>(hits);
+        result.sort(ProductSearchHit.RANKING);
+        return result;
+    }
+
+    public ProductSearchIndexStats getStats() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return new ProductSearchIndexStats(false, 0, 0, 0, 0);
+        }
+        return new ProductSearchIndexStats(true,
+                current.base().size(),
+                current.delta().size(),
+                current.shadowed().size(),
+                current.base().getPostingBytes() + current.delta().getPostingBytes());
+    }
+
+    /**
+     * @param shadowed ids of base segment products which were changed or deleted since the base was built
+     */
+    private record Snapshot(IndexSegment base, IndexSegment delta, Map<Integer, ProductEntity> deltaProducts,
+                            Set<Integer> shadowed) {
+    }
+}
@@ -0,0 +1,9 @@
+package app.search;
+
+/**
+ * @param shadowedProducts ids of products changed since the base segment was built, their base entries are skipped
+ * @param postingBytes     size of all encoded posting lists
+ */
+public record ProductSearchIndexStats(boolean ready, int baseProducts, int deltaProducts, int shadowedProducts,
+                                      long postingBytes) {
+}
@@ -0,0 +1,113 @@
+package app.search;
+
+import app.db.DatabaseConfig;
+import app.entity.ProductEntity;
+import app.repositories.ProductRepository;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a {@link ProductSearchIndex} in sync with the product table. Listens on the product_changed channel
+ * on a dedicated connection, loads all products once listening and afterwards reloads only changed rows.
+ * After a lost connection everything is loaded again, since notifications sent meanwhile are gone.
+ */
+public class ProductSearchIndexUpdater {
+    private static final Logger LOGGER = Logger.getLogger(ProductSearchIndexUpdater.class.getName());
+    private static final String CHANNEL = "product_changed";
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+    private static final long RETRY_DELAY_MILLIS = 5000;
+
+    private final ProductSearchIndex index;
+    private final ProductRepository repository;
+    private final DatabaseConfig config;
+    private volatile boolean running;
+    private Thread thread;
+
+    public ProductSearchIndexUpdater(ProductSearchIndex index, ProductRepository repository, DatabaseConfig config) {
+        this.index = index;
+        this.repository = repository;
+        this.config = config;
+    }
+
+    public synchronized void start() {
+        running = true;
+        thread = new Thread(this::run, "product-search-index");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join();
+            thread = null;
+        }
+    }
+
+    private void run() {
+        while (running) {
+            // Not from the pool: the connection is held for the lifetime of the application
+            try (Connection connection = DriverManager.getConnection(config.url(), config.user(), config.password())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Changes committed during the load are notified and applied again afterwards
+                reloadAll();
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        apply(notifications);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Product search index is not updated, retrying in "
+                        + RETRY_DELAY_MILLIS + " ms", e);
+                sleepBeforeRetry();
+            }
+        }
+    }
+
+    private void apply(PGNotification[] notifications) throws SQLException {
+        Set<Integer> changedIds = new LinkedHashSet<>();
+        for (PGNotification notification : notifications) {
+            if (notification.getParameter().isEmpty()) {
+                reloadAll();
+                return;
+            }
+            changedIds.add(Integer.parseInt(notification.getParameter()));
+        }
+        int[] ids = changedIds.stream().mapToInt(Integer::intValue).toArray();
+        List<ProductEntity> currentRows = repository.getAll(ids);
+        index.apply(changedIds, currentRows);
+    }
+
+    private void reloadAll() throws SQLException {
+        long start = System.nanoTime();
+        try (Stream<ProductEntity> products = repository.stream()) {
+            index.rebuild(products.toList());
+        }
+        LOGGER.info("Built product search index in " + (System.nanoTime() - start) / 1_000_000 + " ms: "
+                + index.getStats());
+    }
+
+    private void sleepBeforeRetry() {
+        try {
+            Thread.sleep(RETRY_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
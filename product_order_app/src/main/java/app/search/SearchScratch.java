@@ -0,0 +1,29 @@
+package app.search;
+
+/**
+ * Per-thread counters of one search. Only touched counters are visited and reset, so a query matching
+ * few products costs nothing per indexed product.
+ */
+final class SearchScratch {
+    private static final ThreadLocal<SearchScratch> CURRENT = ThreadLocal.withInitial(SearchScratch::new);
+
+    int[] counters = new int[0];
+    int[] touched = new int[0];
+    int touchedCount;
+
+    static SearchScratch get(int segmentSize) {
+        SearchScratch scratch = CURRENT.get();
+        if (scratch.counters.length < segmentSize) {
+            scratch.counters = new int[segmentSize];
+            scratch.touched = new int[segmentSize];
+        }
+        return scratch;
+    }
+
+    void clear() {
+        for (int i = 0; i < touchedCount; i++) {
+            counters[touched[i]] = 0;
+        }
+        touchedCount = 0;
+    }
+}
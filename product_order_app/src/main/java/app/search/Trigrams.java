@@ -0,0 +1,89 @@
+package app.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Splits text into trigrams packed as long keys. Text is lowercased, accents are dropped and every character
+ * which is not a letter or digit separates words. Like pg_trgm, every word is padded with two spaces
+ * in front and one behind, so short words and word starts get their own trigrams.
+ */
+final class Trigrams {
+    /**
+     * Set in keys of description trigrams, name and description are indexed separately
+     */
+    static final long DESCRIPTION_FIELD = 1L << 48;
+
+    private Trigrams() {
+    }
+
+    static long[] forDocument(String text, long field) {
+        return extract(text, field, false);
+    }
+
+    /**
+     * The last word of a query is not padded at the end, so it matches as a prefix while the user is typing
+     */
+    static long[] forQuery(String text) {
+        return extract(text, 0, true);
+    }
+
+    private static long[] extract(String text, long field, boolean lastWordIsPrefix) {
+        if (text == null || text.isEmpty()) {
+            return new long[0];
+        }
+        String normalized = normalize(text);
+        long[] keys = new long[normalized.length() * 2 + 2];
+        int count = 0;
+        int wordStart = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && wordStart < 0) {
+                wordStart = i;
+            } else if (!wordChar && wordStart >= 0) {
+                boolean padEnd = !(lastWordIsPrefix && i == normalized.length());
+                count = addWord(normalized, wordStart, i, padEnd, field, keys, count);
+                wordStart = -1;
+            }
+        }
+        // Words are indexed once per document, repeated trigrams do not raise the score
+        Arrays.sort(keys, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || keys[distinct - 1] != keys[i]) {
+                keys[distinct++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, distinct);
+    }
+
+    private static int addWord(String text, int start, int end, boolean padEnd, long field, long[] keys, int count) {
+        char previous2 = ' ';
+        char previous1 = ' ';
+        for (int i = start; i < end; i++) {
+            char current = text.charAt(i);
+            keys[count++] = pack(previous2, previous1, current, field);
+            previous2 = previous1;
+            previous1 = current;
+        }
+        if (padEnd) {
+            keys[count++] = pack(previous2, previous1, ' ', field);
+        }
+        return count;
+    }
+
+    private static long pack(char first, char second, char third, long field) {
+        return field | ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    private static String normalize(String text) {
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lowerCase.length(); i++) {
+            if (lowerCase.charAt(i) > 127) {
+                return Normalizer.normalize(lowerCase, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+            }
+        }
+        return lowerCase;
+    }
+}
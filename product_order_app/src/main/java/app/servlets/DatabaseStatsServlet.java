@@ -0,0 +1,15 @@
+package app.servlets;
+
+import app.controllers.DatabaseStatsController;
+import controllerlib.exposed.BaseController;
+import controllerlib.internal.servlet.BaseControllerServlet;
+import jakarta.servlet.annotation.WebServlet;
+
+
+@WebServlet("/db-stats")
+public class DatabaseStatsServlet extends BaseControllerServlet {
+    @Override
+    protected Class<? extends BaseController> getControllerClass() {
+        return DatabaseStatsController.class;
+    }
+}
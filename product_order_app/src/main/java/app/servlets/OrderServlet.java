@@ -0,0 +1,15 @@
+package app.servlets;
+
+import app.controllers.OrderController;
+import controllerlib.exposed.BaseController;
+import controllerlib.internal.servlet.BaseControllerServlet;
+import jakarta.servlet.annotation.WebServlet;
+
+
+@WebServlet(value = "/orders", asyncSupported = true)
+public class OrderServlet extends BaseControllerServlet {
+    @Override
+    protected Class<? extends BaseController> getControllerClass() {
+        return OrderController.class;
+    }
+}
@@ -0,0 +1,15 @@
+package app.servlets;
+
+import app.controllers.ProductSearchController;
+import controllerlib.exposed.BaseController;
+import controllerlib.internal.servlet.BaseControllerServlet;
+import jakarta.servlet.annotation.WebServlet;
+
+
+@WebServlet("/products/search")
+public class ProductSearchServlet extends BaseControllerServlet {
+    @Override
+    protected Class<? extends BaseController> getControllerClass() {
+        return ProductSearchController.class;
+    }
+}
@@ -6,7 +6,7 @@ import controllerlib.internal.servlet.BaseControllerServlet;
 import jakarta.servlet.annotation.WebServlet;
 
 
-@WebServlet("/vendor")
+@WebServlet(value = "/vendor", asyncSupported = true)
 public class VendorServlet extends BaseControllerServlet {
     @Override
     protected Class<? extends BaseController> getControllerClass() {
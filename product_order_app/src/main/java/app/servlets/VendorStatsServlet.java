@@ -0,0 +1,15 @@
+package app.servlets;
+
+import app.controllers.VendorStatsController;
+import controllerlib.exposed.BaseController;
+import controllerlib.internal.servlet.BaseControllerServlet;
+import jakarta.servlet.annotation.WebServlet;
+
+
+@WebServlet("/vendor-stats")
+public class VendorStatsServlet extends BaseControllerServlet {
+    @Override
+    protected Class<? extends BaseController> getControllerClass() {
+        return VendorStatsController.class;
+    }
+}
@@ -7,10 +7,25 @@ public class BaseController {
         return new ControllerResult<>(resultObject, HttpServletResponse.SC_OK);
     }
 
+    protected <T> ControllerResult<T> Created(T resultObject) {
+        return new ControllerResult<>(resultObject, HttpServletResponse.SC_CREATED);
+    }
+
+    /**
+     * 304 without body, validators are sent again as required by RFC 9110
+     */
+    protected <T> ControllerResult<T> NotModified(String etag, long lastModified) {
+        return new ControllerResult<>(null, HttpServletResponse.SC_NOT_MODIFIED, etag, lastModified);
+    }
+
     protected <T> ControllerResult<T> InternalServerError() {
         return new ControllerResult<>(null, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
     }
 
+    protected <T> ControllerResult<T> ServiceUnavailable() {
+        return new ControllerResult<>(null, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    }
+
     protected <T> ControllerResult<T> NotFound() {
         return new ControllerResult<>(null, HttpServletResponse.SC_NOT_FOUND);
     }
@@ -1,4 +1,19 @@
 package controllerlib.exposed;
 
-public record ControllerResult<T>(T resultObject, int statusCode) {
+/**
+ * @param etag         opaque tag of the result version, sent as a weak ETag, null if absent
+ * @param lastModified epoch millis of the last change of the result, -1 if absent
+ */
+public record ControllerResult<T>(T resultObject, int statusCode, String etag, long lastModified) {
+    public ControllerResult(T resultObject, int statusCode) {
+        this(resultObject, statusCode, null, -1);
+    }
+
+    public ControllerResult<T> withValidators(String etag, long lastModified) {
+        return new ControllerResult<>(resultObject, statusCode, etag, lastModified);
+    }
+
+    public boolean hasValidators() {
+        return etag != null || lastModified >= 0;
+    }
 }
@@ -0,0 +1,19 @@
+package controllerlib.exposed;
+
+/**
+ * Defines how controller instances are created for incoming requests
+ */
+public enum ControllerScope {
+    /**
+     * One instance serves all requests, so the controller must be thread-safe
+     */
+    SINGLETON,
+    /**
+     * Instances are reused between requests, but never used by two requests at the same time
+     */
+    POOLED,
+    /**
+     * New instance for every request
+     */
+    PER_REQUEST
+}
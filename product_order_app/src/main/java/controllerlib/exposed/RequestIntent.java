@@ -0,0 +1,72 @@
+package controllerlib.exposed;
+
+/**
+ * Whether the controller method running on the current thread only reads data. Set around every controller
+ * method invocation: READ for {@link controllerlib.exposed.annotations.HttpGet} methods not annotated with
+ * {@link controllerlib.exposed.annotations.ReadYourWrites}, WRITE otherwise.
+ * <p>
+ * Outside of controller methods, e.g. in startup code, background threads or callbacks of a returned
+ * CompletionStage running on other threads, the intent is WRITE, so data sources can route READ work to replicas
+ * without risking stale reads anywhere else.
+ */
+public enum RequestIntent {
+    READ,
+    WRITE;
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * One controller method invocation
+     */
+    public static final class Scope {
+        private final RequestIntent intent;
+        private Object readTarget;
+
+        private Scope(RequestIntent intent) {
+            this.intent = intent;
+        }
+    }
+
+    public static RequestIntent current() {
+        Scope scope = CURRENT.get();
+        return scope != null ? scope.intent : WRITE;
+    }
+
+    /**
+     * Starts a new invocation scope on the current thread
+     *
+     * @return previous scope of the thread, to be passed to {@link #restore}
+     */
+    public static Scope set(RequestIntent intent) {
+        Scope previous = CURRENT.get();
+        CURRENT.set(new Scope(intent));
+        return previous;
+    }
+
+    public static void restore(Scope previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * @return data source chosen by {@link #setReadTarget} in the current invocation, null if none yet
+     */
+    public static Object getReadTarget() {
+        Scope scope = CURRENT.get();
+        return scope != null ? scope.readTarget : null;
+    }
+
+    /**
+     * Lets a routing data source serve all reads of one invocation from the same database,
+     * so they do not see different replication states. Ignored outside of controller methods.
+     */
+    public static void setReadTarget(Object target) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.readTarget = target;
+        }
+    }
+}
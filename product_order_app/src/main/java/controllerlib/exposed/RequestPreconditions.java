@@ -0,0 +1,64 @@
+package controllerlib.exposed;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Conditional headers of a GET request. Controller methods can declare a parameter of this type
+ * to skip loading data which the client already has.
+ *
+ * @param ifNoneMatch     raw If-None-Match header, null if absent
+ * @param ifModifiedSince If-Modified-Since header as epoch millis, -1 if absent
+ */
+public record RequestPreconditions(String ifNoneMatch, long ifModifiedSince) {
+    private static final String WEAK_PREFIX = "W/";
+
+    public static RequestPreconditions fromRequest(HttpServletRequest request) {
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = request.getDateHeader("If-Modified-Since");
+        } catch (IllegalArgumentException e) {
+            // Unparsable date is ignored as required by RFC 9110
+            ifModifiedSince = -1;
+        }
+        return new RequestPreconditions(request.getHeader("If-None-Match"), ifModifiedSince);
+    }
+
+    /**
+     * @param etag         tag as given to {@link ControllerResult#withValidators}, may be null
+     * @param lastModified epoch millis, -1 if unknown
+     * @return true if the client copy is current and 304 Not Modified can be sent
+     */
+    public boolean isNotModified(String etag, long lastModified) {
+        // If-Modified-Since is ignored when If-None-Match is present
+        if (ifNoneMatch != null) {
+            return etag != null && matchesAny(etag);
+        }
+        // HTTP dates have second precision
+        return ifModifiedSince >= 0 && lastModified >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private boolean matchesAny(String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*")) {
+                return true;
+            }
+            if (candidate.startsWith(WEAK_PREFIX)) {
+                candidate = candidate.substring(WEAK_PREFIX.length());
+            }
+            // Weak comparison: W/ prefix is ignored, tags are compared without quotes
+            if (candidate.length() >= 2 && candidate.startsWith("\"") && candidate.endsWith("\"")
+                    && candidate.substring(1, candidate.length() - 1).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return tag formatted as a weak ETag header value
+     */
+    public static String formatETag(String etag) {
+        return WEAK_PREFIX + "\"" + etag + "\"";
+    }
+}
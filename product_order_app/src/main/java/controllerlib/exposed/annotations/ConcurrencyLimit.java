@@ -0,0 +1,41 @@
+package controllerlib.exposed.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Admission control for a controller method: requests above the current limit of concurrent invocations
+ * are rejected at once with 503 and Retry-After, before parameters are mapped.
+ * <p>
+ * The limit adapts to latency (AIMD): it grows by one after a request completed within latencyTargetMillis
+ * while the limit was at least half used, and is multiplied by a backoff ratio after a slower or failed (5xx)
+ * request, at most once per latencyTargetMillis. Every overload has its own limit.
+ * Annotation on a method takes precedence over annotation on the controller class.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimit {
+    int initialLimit() default 20;
+
+    int minLimit() default 1;
+
+    int maxLimit() default 200;
+
+    long latencyTargetMillis() default 500;
+
+    Priority priority() default Priority.CRITICAL;
+
+    int retryAfterSeconds() default 1;
+
+    /**
+     * CRITICAL and BACKGROUND routes have separate limits. BACKGROUND limits back off to half on overload,
+     * CRITICAL limits only by 10%. While any CRITICAL route is overloaded (rejects, or completes slow or failed
+     * requests), BACKGROUND routes admit at most minLimit requests, so capacity goes to critical routes first.
+     */
+    enum Priority {
+        CRITICAL,
+        BACKGROUND
+    }
+}
@@ -0,0 +1,19 @@
+package controllerlib.exposed.annotations;
+
+import controllerlib.exposed.ControllerScope;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * value - How controller instances are created. Controllers without this annotation are created per request.
+ * poolSize - Maximum number of idle instances kept by {@link ControllerScope#POOLED}
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ControllerLifecycle {
+    ControllerScope value();
+    int poolSize() default 16;
+}
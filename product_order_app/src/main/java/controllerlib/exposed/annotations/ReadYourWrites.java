@@ -0,0 +1,16 @@
+package controllerlib.exposed.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * GET method runs with {@link controllerlib.exposed.RequestIntent#WRITE} intent, for reads which must see
+ * changes the client has just made, e.g. when replicas may lag behind the primary.
+ * Annotation on the controller class applies to all its methods.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadYourWrites {
+}
@@ -0,0 +1,17 @@
+package controllerlib.exposed.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Concurrent requests to the method with equal parameters share one invocation and its serialized result.
+ * Requests arriving after the invocation completed start a new one, nothing is cached.
+ * Use only for reads whose result depends on the parameters alone. Allowed on {@link HttpGet} methods only, and
+ * neither with {@link ReadYourWrites} nor for methods returning a Stream.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SingleFlight {
+}
@@ -0,0 +1,20 @@
+package controllerlib.exposed.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a blocking controller method outside the container thread, which is released until the result is ready.
+ * Virtual threads are used when the runtime supports them, otherwise a bounded pool of platform threads.
+ * Annotation on a method takes precedence over annotation on the controller class.
+ * <p>
+ * maxConcurrency - Maximum number of invocations of the method running at the same time, others wait in queue.
+ * On platform threads at most maxConcurrency invocations wait, further requests get 503 Service Unavailable.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface VirtualThreadExecution {
+    int maxConcurrency() default 256;
+}
@@ -0,0 +1,7 @@
+package controllerlib.exposed.exceptions;
+
+public class AmbiguousControllerMethodsException extends MisconfiguredControllerException {
+    public AmbiguousControllerMethodsException(String firstMethod, String secondMethod) {
+        super("Methods " + firstMethod + " and " + secondMethod + " require the same query parameters, so requests cannot be routed between them");
+    }
+}
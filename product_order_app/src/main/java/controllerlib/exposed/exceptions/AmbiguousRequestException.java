@@ -0,0 +1,7 @@
+package controllerlib.exposed.exceptions;
+
+public class AmbiguousRequestException extends ControllerMethodParameterMappingException {
+    public AmbiguousRequestException() {
+        super("Request query parameters match several controller methods equally well");
+    }
+}
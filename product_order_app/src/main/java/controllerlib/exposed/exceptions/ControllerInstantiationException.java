@@ -0,0 +1,8 @@
+package controllerlib.exposed.exceptions;
+
+public class ControllerInstantiationException extends MisconfiguredControllerException {
+    public ControllerInstantiationException(String controllerName, Throwable cause) {
+        super("Controller " + controllerName + " must be public and have public constructor without parameters");
+        initCause(cause);
+    }
+}
@@ -0,0 +1,8 @@
+package controllerlib.exposed.exceptions;
+
+public class InvalidConcurrencyLimitException extends MisconfiguredControllerException {
+    public InvalidConcurrencyLimitException(String methodName) {
+        super("Concurrency limit of method " + methodName + " must satisfy 1 <= minLimit <= initialLimit <= maxLimit "
+                + "and have positive latencyTargetMillis");
+    }
+}
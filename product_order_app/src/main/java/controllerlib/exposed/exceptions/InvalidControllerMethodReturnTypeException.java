@@ -2,6 +2,6 @@ package controllerlib.exposed.exceptions;
 
 public class InvalidControllerMethodReturnTypeException extends MisconfiguredControllerException {
     public InvalidControllerMethodReturnTypeException(String methodName) {
-        super("Method " + methodName + " has wrong return type. It must be ControllerResult");
+        super("Method " + methodName + " has wrong return type. It must be ControllerResult or CompletionStage<ControllerResult>");
     }
 }
@@ -0,0 +1,7 @@
+package controllerlib.exposed.exceptions;
+
+public class InvalidQueryParameterValueException extends ControllerMethodParameterMappingException {
+    public InvalidQueryParameterValueException(String parameterName, String value) {
+        super("Query parameter " + parameterName + " has invalid value: " + value);
+    }
+}
@@ -0,0 +1,8 @@
+package controllerlib.exposed.exceptions;
+
+public class InvalidRouteTableException extends MisconfiguredControllerException {
+    public InvalidRouteTableException(String controllerName, Throwable cause) {
+        super("Generated route table of controller " + controllerName + " does not match the controller, rebuild the project");
+        initCause(cause);
+    }
+}
@@ -0,0 +1,10 @@
+package controllerlib.exposed.exceptions;
+
+public class InvalidSingleFlightMethodException extends MisconfiguredControllerException {
+    /**
+     * @param reason e.g. "returns a Stream"
+     */
+    public InvalidSingleFlightMethodException(String methodName, String reason) {
+        super("Method " + methodName + " " + reason + ", its result can not be shared by SingleFlight");
+    }
+}
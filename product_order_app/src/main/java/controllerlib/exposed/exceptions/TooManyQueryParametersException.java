@@ -0,0 +1,7 @@
+package controllerlib.exposed.exceptions;
+
+public class TooManyQueryParametersException extends MisconfiguredControllerException {
+    public TooManyQueryParametersException(int count, int max) {
+        super("Overloads of one HTTP method use " + count + " distinct required query parameters, maximum is " + max);
+    }
+}
@@ -0,0 +1,156 @@
+package controllerlib.internal;
+
+import controllerlib.exposed.exceptions.InvalidQueryParameterValueException;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parses a query parameter with several values into an array of primitives or Strings, or into a List, Set
+ * or Collection of their wrappers. Values can be repeated (?id=1&amp;id=2), comma separated (?id=1,2) or both,
+ * their order is kept. An empty parameter value (?id=) gives no elements.
+ * <p>
+ * int and long elements are parsed from the request string in place, without substrings or boxing.
+ */
+public final class MultiValueParser {
+    private static final Map<Class<?>, Class<?>> PRIMITIVES_BY_WRAPPER = Map.of(
+            Integer.class, int.class,
+            Long.class, long.class,
+            Double.class, double.class,
+            Float.class, float.class,
+            Short.class, short.class,
+            Byte.class, byte.class,
+            Boolean.class, boolean.class,
+            Character.class, char.class,
+            String.class, String.class
+    );
+
+    private final String parameterName;
+    /**
+     * Primitive type or String
+     */
+    private final Class<?> elementType;
+    /**
+     * List, Set or Collection, null if the parameter is an array
+     */
+    private final Class<?> collectionType;
+
+    private MultiValueParser(String parameterName, Class<?> elementType, Class<?> collectionType) {
+        this.parameterName = parameterName;
+        this.elementType = elementType;
+        this.collectionType = collectionType;
+    }
+
+    /**
+     * @return null if the parameter type is not a supported array or collection
+     */
+    public static MultiValueParser forParameter(Parameter parameter, String parameterName) {
+        Class<?> type = parameter.getType();
+        if (type.isArray()) {
+            Class<?> componentType = type.getComponentType();
+            if (componentType.isPrimitive() || componentType.equals(String.class)) {
+                return new MultiValueParser(parameterName, componentType, null);
+            }
+            return null;
+        }
+        if (!type.equals(List.class) && !type.equals(Set.class) && !type.equals(Collection.class)) {
+            return null;
+        }
+        if (parameter.getParameterizedType() instanceof ParameterizedType parameterizedType) {
+            Type elementType = parameterizedType.getActualTypeArguments()[0];
+            Class<?> primitiveType = PRIMITIVES_BY_WRAPPER.get(elementType);
+            if (primitiveType != null) {
+                return new MultiValueParser(parameterName, primitiveType, type);
+            }
+        }
+        return null;
+    }
+
+    public Object parse(String[] rawValues) throws InvalidQueryParameterValueException {
+        Object array = parseArray(rawValues);
+        if (collectionType == null) {
+            return array;
+        }
+        int length = Array.getLength(array);
+        Collection<Object> collection = collectionType.equals(Set.class)
+                ? new LinkedHashSet<>(length * 4 / 3 + 1)
+                : new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            collection.add(Array.get(array, i));
+        }
+        return collection;
+    }
+
+    private Object parseArray(String[] rawValues) throws InvalidQueryParameterValueException {
+        Object array = Array.newInstance(elementType, countValues(rawValues));
+        int index = 0;
+        for (String rawValue : rawValues) {
+            if (rawValue.isEmpty()) {
+                continue;
+            }
+            int start = 0;
+            while (true) {
+                int comma = rawValue.indexOf(',', start);
+                int end = comma < 0 ? rawValue.length() : comma;
+                parseElement(array, index++, rawValue, start, end);
+                if (comma < 0) {
+                    break;
+                }
+                start = comma + 1;
+            }
+        }
+        return array;
+    }
+
+    private static int countValues(String[] rawValues) {
+        int count = 0;
+        for (String rawValue : rawValues) {
+            if (rawValue.isEmpty()) {
+                continue;
+            }
+            count++;
+            for (int i = 0; i < rawValue.length(); i++) {
+                if (rawValue.charAt(i) == ',') {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private void parseElement(Object array, int index, String rawValue, int begin, int end)
+            throws InvalidQueryParameterValueException {
+        while (begin < end && rawValue.charAt(begin) == ' ') {
+            begin++;
+        }
+        while (end > begin && rawValue.charAt(end - 1) == ' ') {
+            end--;
+        }
+        try {
+            if (elementType.equals(int.class)) {
+                ((int[]) array)[index] = Integer.parseInt(rawValue, begin, end, 10);
+            } else if (elementType.equals(long.class)) {
+                ((long[]) array)[index] = Long.parseLong(rawValue, begin, end, 10);
+            } else if (elementType.equals(String.class)) {
+                ((String[]) array)[index] = rawValue.substring(begin, end);
+            } else if (elementType.equals(char.class)) {
+                if (end - begin != 1) {
+                    throw new InvalidQueryParameterValueException(parameterName, rawValue);
+                }
+                ((char[]) array)[index] = rawValue.charAt(begin);
+            } else {
+                Array.set(array, index, TypeUtils.parsePrimitives(elementType, rawValue.substring(begin, end)));
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidQueryParameterValueException(parameterName, rawValue);
+        }
+    }
+}
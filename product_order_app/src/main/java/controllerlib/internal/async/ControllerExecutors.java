@@ -0,0 +1,72 @@
+package controllerlib.internal.async;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates executors for controller methods annotated with {@link controllerlib.exposed.annotations.VirtualThreadExecution}
+ */
+public final class ControllerExecutors {
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor, looked up at runtime because the library is compiled for Java 17
+     */
+    private static final MethodHandle VIRTUAL_THREAD_EXECUTOR_FACTORY = findVirtualThreadExecutorFactory();
+    private static final long PLATFORM_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private ControllerExecutors() {
+    }
+
+    public static boolean isVirtualThreadsSupported() {
+        return VIRTUAL_THREAD_EXECUTOR_FACTORY != null;
+    }
+
+    /**
+     * Platform thread executors queue up to maxConcurrency tasks and reject further ones with
+     * {@link java.util.concurrent.RejectedExecutionException}, a waiting task holds a request and its parameters.
+     * Virtual thread executors park waiting tasks on their own threads, which is cheap enough to leave unbounded.
+     */
+    public static ExecutorService create(String name, int maxConcurrency) {
+        if (isVirtualThreadsSupported()) {
+            return new ConcurrencyLimitedExecutor(newVirtualThreadPerTaskExecutor(), maxConcurrency);
+        }
+        var executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency,
+                PLATFORM_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxConcurrency),
+                daemonThreadFactory(name));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) VIRTUAL_THREAD_EXECUTOR_FACTORY.invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot create virtual thread executor", e);
+        }
+    }
+
+    private static MethodHandle findVirtualThreadExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(java.util.concurrent.Executors.class,
+                    "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
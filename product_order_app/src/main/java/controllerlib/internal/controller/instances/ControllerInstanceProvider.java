@@ -0,0 +1,56 @@
+package controllerlib.internal.controller.instances;
+
+import controllerlib.exposed.BaseController;
+import controllerlib.exposed.ControllerScope;
+import controllerlib.exposed.annotations.ControllerLifecycle;
+import controllerlib.exposed.exceptions.ControllerInstantiationException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Supplies controller instances according to the scope declared by {@link ControllerLifecycle}
+ */
+public abstract class ControllerInstanceProvider {
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(BaseController.class);
+
+    private final MethodHandle constructor;
+
+    protected ControllerInstanceProvider(Class<? extends BaseController> controllerClass) {
+        try {
+            this.constructor = MethodHandles.publicLookup()
+                    .findConstructor(controllerClass, MethodType.methodType(void.class))
+                    .asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ControllerInstantiationException(controllerClass.getName(), e);
+        }
+    }
+
+    public static ControllerInstanceProvider createFor(Class<? extends BaseController> controllerClass) {
+        ControllerLifecycle lifecycle = controllerClass.getAnnotation(ControllerLifecycle.class);
+        ControllerScope scope = lifecycle == null ? ControllerScope.PER_REQUEST : lifecycle.value();
+        return switch (scope) {
+            case SINGLETON -> new SingletonInstanceProvider(controllerClass);
+            case POOLED -> new PooledInstanceProvider(controllerClass, lifecycle.poolSize());
+            case PER_REQUEST -> new PerRequestInstanceProvider(controllerClass);
+        };
+    }
+
+    /**
+     * @return controller instance which may be used by the caller until it is passed to {@link #release}
+     */
+    public abstract BaseController acquire();
+
+    public abstract void release(BaseController controller);
+
+    protected BaseController newInstance() {
+        try {
+            return (BaseController) constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package controllerlib.internal.controller.instances;
+
+import controllerlib.exposed.BaseController;
+
+public class PerRequestInstanceProvider extends ControllerInstanceProvider {
+    public PerRequestInstanceProvider(Class<? extends BaseController> controllerClass) {
+        super(controllerClass);
+    }
+
+    @Override
+    public BaseController acquire() {
+        return newInstance();
+    }
+
+    @Override
+    public void release(BaseController controller) {
+    }
+}
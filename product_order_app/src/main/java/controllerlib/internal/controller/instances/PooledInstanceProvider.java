@@ -0,0 +1,26 @@
+package controllerlib.internal.controller.instances;
+
+import controllerlib.exposed.BaseController;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+public class PooledInstanceProvider extends ControllerInstanceProvider {
+    private final ArrayBlockingQueue<BaseController> idleInstances;
+
+    public PooledInstanceProvider(Class<? extends BaseController> controllerClass, int poolSize) {
+        super(controllerClass);
+        this.idleInstances = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    @Override
+    public BaseController acquire() {
+        BaseController controller = idleInstances.poll();
+        return controller != null ? controller : newInstance();
+    }
+
+    @Override
+    public void release(BaseController controller) {
+        // When the pool is full the instance is simply dropped
+        idleInstances.offer(controller);
+    }
+}
@@ -0,0 +1,21 @@
+package controllerlib.internal.controller.instances;
+
+import controllerlib.exposed.BaseController;
+
+public class SingletonInstanceProvider extends ControllerInstanceProvider {
+    private final BaseController instance;
+
+    public SingletonInstanceProvider(Class<? extends BaseController> controllerClass) {
+        super(controllerClass);
+        this.instance = newInstance();
+    }
+
+    @Override
+    public BaseController acquire() {
+        return instance;
+    }
+
+    @Override
+    public void release(BaseController controller) {
+    }
+}
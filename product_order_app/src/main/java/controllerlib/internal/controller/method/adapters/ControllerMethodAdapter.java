@@ -1,39 +1,208 @@
 package controllerlib.internal.controller.method.adapters;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import controllerlib.exposed.annotations.FromRequestBody;
 import controllerlib.exposed.annotations.NotRequiredQueryParam;
 import controllerlib.exposed.annotations.RequiredQueryParam;
+import controllerlib.exposed.annotations.ConcurrencyLimit;
+import controllerlib.exposed.annotations.HttpGet;
+import controllerlib.exposed.annotations.ReadYourWrites;
+import controllerlib.exposed.annotations.SingleFlight;
+import controllerlib.exposed.annotations.VirtualThreadExecution;
+import controllerlib.internal.async.ControllerExecutors;
 import controllerlib.exposed.BaseController;
 import controllerlib.exposed.ControllerResult;
+import controllerlib.exposed.RequestIntent;
+import controllerlib.exposed.RequestPreconditions;
 import controllerlib.internal.controller.method.parameters.adapters.NotAnnotatedParameterAdapter;
 import controllerlib.internal.controller.method.parameters.adapters.NotRequiredQueryParameterAdapter;
 import controllerlib.internal.controller.method.parameters.adapters.RequestBodyParameterAdapter;
+import controllerlib.internal.controller.method.parameters.adapters.RequestPreconditionsParameterAdapter;
 import controllerlib.internal.controller.method.parameters.adapters.RequiredQueryParameterAdapter;
 import controllerlib.internal.controller.method.parameters.adapters.base.AbstractQueryParameterAdapter;
 import controllerlib.internal.controller.method.parameters.adapters.base.ControllerMethodParameterAdapter;
+import controllerlib.exposed.exceptions.ControllerInstantiationException;
 import controllerlib.exposed.exceptions.ControllerMethodParameterMappingException;
+import controllerlib.exposed.exceptions.InvalidConcurrencyLimitException;
+import controllerlib.exposed.exceptions.InvalidSingleFlightMethodException;
+import controllerlib.internal.controller.instances.ControllerInstanceProvider;
+import controllerlib.internal.json.JsonCodecRegistry;
+import controllerlib.internal.limits.AdaptiveConcurrencyLimiter;
+import controllerlib.internal.metrics.RouteMetrics;
+import controllerlib.internal.singleflight.SerializedBody;
+import controllerlib.internal.singleflight.SingleFlightGroup;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.Setter;
 
+import java.io.UncheckedIOException;
 import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
-import java.util.LinkedList;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
-public class ControllerMethodAdapter implements Comparable<ControllerMethodAdapter> {
-    private final Class<? extends BaseController> controller;
+public class ControllerMethodAdapter {
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, BaseController.class, Object[].class);
+
+    private final ControllerInstanceProvider instanceProvider;
+    @Getter
     private final Method method;
+    /**
+     * Resolved once at init time, so dispatch does not go through {@link Method#invoke}
+     */
+    private final MethodHandle invoker;
+    /**
+     * Writer for the result object, or for a single element if the result is a {@link Stream}
+     */
+    @Getter
+    private final ObjectWriter resultWriter;
+    @Getter
+    private final boolean streamingResult;
+    /**
+     * Method returns CompletionStage&lt;ControllerResult&lt;T&gt;&gt; instead of ControllerResult&lt;T&gt;
+     */
+    private final boolean returnsCompletionStage;
+    /**
+     * Not null if the method is annotated with {@link VirtualThreadExecution}
+     */
+    private final ExecutorService executor;
+    /**
+     * Not null if the method is annotated with {@link SingleFlight}
+     */
+    private final SingleFlightGroup<ControllerResult<?>> singleFlight;
+    /**
+     * Set for the thread which runs the method
+     */
+    private final RequestIntent intent;
+    /**
+     * Not null if the method or its controller is annotated with {@link ConcurrencyLimit}
+     */
+    @Getter
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    @Getter
+    @Setter
+    private RouteMetrics metrics;
     private ControllerMethodParameterAdapter<?>[] parameterAdapters;
-    private final List<AbstractQueryParameterAdapter<RequiredQueryParam>> requiredParameterAdapters = new LinkedList<>();
+    private final List<AbstractQueryParameterAdapter<RequiredQueryParam>> requiredParameterAdapters = new ArrayList<>();
 
-    public ControllerMethodAdapter(Class<? extends BaseController> controller, Method method) {
-        this.controller = controller;
+    public ControllerMethodAdapter(ControllerInstanceProvider instanceProvider, Method method) {
+        this.instanceProvider = instanceProvider;
         this.method = method;
+        this.invoker = createInvoker(method);
+        this.returnsCompletionStage = CompletionStage.class.isAssignableFrom(method.getReturnType());
+        this.executor = createExecutor(method);
+        Type resultObjectType = getResultObjectType(method);
+        this.streamingResult = isStreamType(resultObjectType);
+        this.resultWriter = streamingResult
+                ? JsonCodecRegistry.streamElementWriterFor(getStreamElementType(resultObjectType))
+                : JsonCodecRegistry.writerFor(resultObjectType);
+        this.intent = getIntent(method);
+        this.singleFlight = createSingleFlight(method, streamingResult, intent);
+        this.concurrencyLimiter = createConcurrencyLimiter(method);
         createParameterAdapters();
     }
 
+    private static SingleFlightGroup<ControllerResult<?>> createSingleFlight(Method method, boolean streamingResult,
+                                                                              RequestIntent intent) {
+        if (!method.isAnnotationPresent(SingleFlight.class)) {
+            return null;
+        }
+        // A write or a read of its own writes must run once per request, sharing it would skip or mix them
+        if (intent != RequestIntent.READ) {
+            throw new InvalidSingleFlightMethodException(method.getName(), "is not a HttpGet without ReadYourWrites");
+        }
+        if (streamingResult) {
+            throw new InvalidSingleFlightMethodException(method.getName(), "returns a Stream");
+        }
+        return new SingleFlightGroup<>();
+    }
+
+    private static RequestIntent getIntent(Method method) {
+        boolean readYourWrites = method.isAnnotationPresent(ReadYourWrites.class)
+                || method.getDeclaringClass().isAnnotationPresent(ReadYourWrites.class);
+        return method.isAnnotationPresent(HttpGet.class) && !readYourWrites ? RequestIntent.READ : RequestIntent.WRITE;
+    }
+
+    private static AdaptiveConcurrencyLimiter createConcurrencyLimiter(Method method) {
+        ConcurrencyLimit settings = method.getAnnotation(ConcurrencyLimit.class);
+        if (settings == null) {
+            settings = method.getDeclaringClass().getAnnotation(ConcurrencyLimit.class);
+        }
+        if (settings == null) {
+            return null;
+        }
+        if (!AdaptiveConcurrencyLimiter.isValid(settings)) {
+            throw new InvalidConcurrencyLimitException(method.getName());
+        }
+        return new AdaptiveConcurrencyLimiter(settings);
+    }
+
+    /**
+     * @return T of method's ControllerResult&lt;T&gt; or CompletionStage&lt;ControllerResult&lt;T&gt;&gt; return type
+     */
+    private static Type getResultObjectType(Method method) {
+        Type controllerResultType = method.getGenericReturnType();
+        if (CompletionStage.class.isAssignableFrom(method.getReturnType())) {
+            controllerResultType = controllerResultType instanceof ParameterizedType stageType
+                    ? stageType.getActualTypeArguments()[0]
+                    : Object.class;
+        }
+        if (controllerResultType instanceof ParameterizedType parameterizedType) {
+            return parameterizedType.getActualTypeArguments()[0];
+        }
+        return Object.class;
+    }
+
+    private static ExecutorService createExecutor(Method method) {
+        VirtualThreadExecution execution = method.getAnnotation(VirtualThreadExecution.class);
+        if (execution == null) {
+            execution = method.getDeclaringClass().getAnnotation(VirtualThreadExecution.class);
+        }
+        if (execution == null) {
+            return null;
+        }
+        return ControllerExecutors.create(method.getDeclaringClass().getSimpleName() + "." + method.getName(),
+                execution.maxConcurrency());
+    }
+
+    private static boolean isStreamType(Type type) {
+        if (type instanceof ParameterizedType parameterizedType) {
+            return parameterizedType.getRawType().equals(Stream.class);
+        }
+        return type.equals(Stream.class);
+    }
+
+    private static Type getStreamElementType(Type streamType) {
+        if (streamType instanceof ParameterizedType parameterizedType) {
+            return parameterizedType.getActualTypeArguments()[0];
+        }
+        return Object.class;
+    }
+
+    private static MethodHandle createInvoker(Method method) {
+        try {
+            return MethodHandles.publicLookup()
+                    .unreflect(method)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(INVOKER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new ControllerInstantiationException(method.getDeclaringClass().getName(), e);
+        }
+    }
+
     private void createParameterAdapters() {
         Parameter[] parameters = method.getParameters();
         this.parameterAdapters = new ControllerMethodParameterAdapter<?>[parameters.length];
@@ -59,30 +228,115 @@ public class ControllerMethodAdapter implements Comparable<ControllerMethodAdapt
             }
         }
 
+        if (parameter.getType().equals(RequestPreconditions.class)) {
+            return new RequestPreconditionsParameterAdapter(parameter);
+        }
+
         return new NotAnnotatedParameterAdapter(parameter);
     }
 
-    public boolean isMethodSatisfiedByRequiredQueryParams(Map<String, String[]> requestParamMap) {
-        for (AbstractQueryParameterAdapter<RequiredQueryParam> param : this.requiredParameterAdapters) {
-            if (!requestParamMap.containsKey(param.getParameterName())) {
-                return false;
-            }
-        }
-        return true;
+    public List<String> getRequiredParameterNames() {
+        return requiredParameterAdapters.stream()
+                .map(AbstractQueryParameterAdapter::getParameterName)
+                .toList();
+    }
+
+    /**
+     * @return true if the result is not available when the method returns, see {@link #invokeAsync}
+     */
+    public boolean isAsync() {
+        return returnsCompletionStage || executor != null || singleFlight != null;
     }
 
+    /**
+     * Invokes the method on the calling thread and waits for its result
+     */
     public ControllerResult<?> invoke(HttpServletRequest request) throws ControllerMethodParameterMappingException {
+        return invoke(mapControllerMethodParameters(request));
+    }
+
+    public ControllerResult<?> invoke(Object[] parameters) {
+        if (isAsync()) {
+            return invokeAsync(parameters).toCompletableFuture().join();
+        }
+        BaseController controller = instanceProvider.acquire();
         try {
-            BaseController controller = this.controller.getConstructor().newInstance();
             // It is guaranteed that return type is ControllerResult by check in the init method
-            return (ControllerResult<?>) method.invoke(controller, mapControllerMethodParameters(request));
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                 NoSuchMethodException e) {
+            return (ControllerResult<?>) invokeMethod(controller, parameters);
+        } finally {
+            instanceProvider.release(controller);
+        }
+    }
+
+    /**
+     * For {@link SingleFlight} methods the result object is replaced by its {@link SerializedBody}
+     */
+    public CompletionStage<ControllerResult<?>> invokeAsync(Object[] parameters) {
+        if (singleFlight != null) {
+            return singleFlight.execute(parameters, () -> invokeUnshared(parameters).thenApply(this::serialize));
+        }
+        return invokeUnshared(parameters);
+    }
+
+    private CompletionStage<ControllerResult<?>> invokeUnshared(Object[] parameters) {
+        try {
+            if (executor != null) {
+                return CompletableFuture.supplyAsync(() -> invokeForStage(parameters), executor)
+                        .thenCompose(Function.identity());
+            }
+            return invokeForStage(parameters);
+        } catch (RuntimeException e) {
+            // Also a RejectedExecutionException of a full executor queue
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletionStage<ControllerResult<?>> invokeForStage(Object[] parameters) {
+        BaseController controller = instanceProvider.acquire();
+        Object result;
+        try {
+            result = invokeMethod(controller, parameters);
+        } catch (RuntimeException | Error e) {
+            instanceProvider.release(controller);
+            throw e;
+        }
+        if (!returnsCompletionStage) {
+            instanceProvider.release(controller);
+            return CompletableFuture.completedFuture((ControllerResult<?>) result);
+        }
+        // Controller instance stays in use until the returned stage completes
+        return ((CompletionStage<ControllerResult<?>>) result)
+                .whenComplete((controllerResult, error) -> instanceProvider.release(controller));
+    }
+
+    private ControllerResult<?> serialize(ControllerResult<?> controllerResult) {
+        if (controllerResult.resultObject() == null) {
+            return controllerResult;
+        }
+        try {
+            byte[] body = resultWriter.writeValueAsBytes(controllerResult.resultObject());
+            return new ControllerResult<>(new SerializedBody(body), controllerResult.statusCode(),
+                    controllerResult.etag(), controllerResult.lastModified());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Object invokeMethod(BaseController controller, Object[] parameters) {
+        RequestIntent.Scope previousScope = RequestIntent.set(intent);
+        try {
+            return invoker.invokeExact(controller, parameters);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new RuntimeException(e);
+        } finally {
+            RequestIntent.restore(previousScope);
         }
     }
 
-    private Object[] mapControllerMethodParameters(HttpServletRequest request) throws ControllerMethodParameterMappingException {
+    public Object[] mapControllerMethodParameters(HttpServletRequest request) throws ControllerMethodParameterMappingException {
         Object[] result = new Object[this.parameterAdapters.length];
         for (int i = 0; i < result.length; i++) {
             result[i] = parameterAdapters[i].mapValue(request);
@@ -90,9 +344,25 @@ public class ControllerMethodAdapter implements Comparable<ControllerMethodAdapt
         return result;
     }
 
+    /**
+     * @return method name with simple names of parameter types, e.g. get(int)
+     */
+    public String getOverloadName() {
+        StringJoiner parameterTypes = new StringJoiner(",", method.getName() + "(", ")");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            parameterTypes.add(parameterType.getSimpleName());
+        }
+        return parameterTypes.toString();
+    }
+
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
     @Override
-    public int compareTo(ControllerMethodAdapter other) {
-        // reversed intentionally
-        return Integer.compare(other.requiredParameterAdapters.size(), this.requiredParameterAdapters.size());
+    public String toString() {
+        return method.toGenericString();
     }
 }
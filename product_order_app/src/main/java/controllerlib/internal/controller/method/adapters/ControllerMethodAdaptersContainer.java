@@ -1,46 +1,220 @@
 package controllerlib.internal.controller.method.adapters;
 
-import com.google.common.collect.TreeMultiset;
-import controllerlib.exposed.BaseController;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import controllerlib.exposed.ControllerResult;
+import controllerlib.exposed.exceptions.AmbiguousControllerMethodsException;
+import controllerlib.exposed.exceptions.AmbiguousRequestException;
 import controllerlib.exposed.exceptions.InvalidControllerMethodReturnTypeException;
+import controllerlib.exposed.exceptions.TooManyQueryParametersException;
+import controllerlib.internal.controller.instances.ControllerInstanceProvider;
+import controllerlib.internal.metrics.MetricsRegistry;
+import controllerlib.internal.metrics.RouteMetrics;
+import controllerlib.internal.routes.Route;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 /**
- * Contains all adapters of methods that match same route but differ in parameters
+ * Contains all adapters of methods that match same route but differ in parameters.
+ * <p>
+ * Every distinct required query parameter name gets a bit, so each overload is described by a mask of its required
+ * parameters. The overload for a request is the one with most required parameters whose mask is covered by the mask
+ * of request parameters. For a small number of names the choice is precomputed for every possible request mask.
  */
 public class ControllerMethodAdaptersContainer {
-    private final TreeMultiset<ControllerMethodAdapter> methodAdapters = TreeMultiset.create();
+    private static final int MAX_PARAMETER_BITS = Long.SIZE;
+    private static final int MAX_LOOKUP_TABLE_BITS = 12;
 
-    public static ControllerMethodAdaptersContainer createFromController(Class<? extends BaseController> controllerClass, Class<? extends Annotation> httpAnnotation) {
-        var adaptersContainer = new ControllerMethodAdaptersContainer();
+    private final List<ControllerMethodAdapter> methodAdapters = new ArrayList<>();
+    private MetricsRegistry metricsRegistry;
+    /**
+     * Metrics of requests which did not reach any method
+     */
+    @Getter
+    private RouteMetrics unmatchedMetrics;
 
-        Arrays.stream(controllerClass.getMethods())
-                .filter(method -> method.isAnnotationPresent(httpAnnotation))
-                .forEach(method -> {
-                    adaptersContainer.addMethod(controllerClass, method);
-                });
+    private Map<String, Integer> parameterBits = Map.of();
+    // Sorted by number of required parameters, descending
+    private ControllerMethodAdapter[] candidates = new ControllerMethodAdapter[0];
+    private long[] candidateMasks = new long[0];
+    private int[] candidateSizes = new int[0];
+    private ControllerMethodAdapter[] lookupTable;
+    // Request masks which are covered equally well by several overloads
+    private boolean[] ambiguousMasks;
 
+    /**
+     * @param routes all routes of the controller, only those with the given HTTP annotation are added
+     */
+    public static ControllerMethodAdaptersContainer createFromRoutes(List<Route> routes,
+                                                                     ControllerInstanceProvider instanceProvider,
+                                                                     Class<? extends Annotation> httpAnnotation) {
+        var adaptersContainer = new ControllerMethodAdaptersContainer();
+        for (Route route : routes) {
+            if (route.httpAnnotation().equals(httpAnnotation)) {
+                adaptersContainer.methodAdapters.add(adaptersContainer.createAdapter(instanceProvider, route.method()));
+            }
+        }
+        adaptersContainer.compile();
         return adaptersContainer;
     }
 
-    public void addMethod(Class<? extends BaseController> controllerClass, Method method) {
-        if (!method.getReturnType().equals(ControllerResult.class)) {
+    public void addMethod(ControllerInstanceProvider instanceProvider, Method method) {
+        this.methodAdapters.add(createAdapter(instanceProvider, method));
+        compile();
+    }
+
+    private ControllerMethodAdapter createAdapter(ControllerInstanceProvider instanceProvider, Method method) {
+        if (!isValidReturnType(method)) {
             throw new InvalidControllerMethodReturnTypeException(method.getName());
         }
-        this.methodAdapters.add(new ControllerMethodAdapter(controllerClass, method));
+        return new ControllerMethodAdapter(instanceProvider, method);
     }
 
-    public ControllerMethodAdapter chooseMethodAdapter(HttpServletRequest req) {
-        for (var methodAdapter : methodAdapters) {
-            if (methodAdapter.isMethodSatisfiedByRequiredQueryParams(req.getParameterMap())) {
-                return methodAdapter;
+    private static boolean isValidReturnType(Method method) {
+        if (method.getReturnType().equals(ControllerResult.class)) {
+            return true;
+        }
+        if (!CompletionStage.class.isAssignableFrom(method.getReturnType())) {
+            return false;
+        }
+        return method.getGenericReturnType() instanceof ParameterizedType stageType
+                && TypeFactory.rawClass(stageType.getActualTypeArguments()[0]).equals(ControllerResult.class);
+    }
+
+    public void registerMetrics(MetricsRegistry registry, String route, String httpMethod) {
+        this.metricsRegistry = registry;
+        this.unmatchedMetrics = registry.register(route, httpMethod, "none");
+        for (ControllerMethodAdapter adapter : methodAdapters) {
+            RouteMetrics metrics = registry.register(route, httpMethod, adapter.getOverloadName());
+            metrics.setConcurrencyLimiter(adapter.getConcurrencyLimiter());
+            adapter.setMetrics(metrics);
+        }
+    }
+
+    public void shutdown() {
+        methodAdapters.forEach(ControllerMethodAdapter::shutdown);
+        if (metricsRegistry != null) {
+            metricsRegistry.unregister(unmatchedMetrics);
+            methodAdapters.forEach(adapter -> metricsRegistry.unregister(adapter.getMetrics()));
+        }
+    }
+
+    private void compile() {
+        Map<String, Integer> bits = new HashMap<>();
+        for (ControllerMethodAdapter adapter : methodAdapters) {
+            for (String name : adapter.getRequiredParameterNames()) {
+                bits.putIfAbsent(name, bits.size());
             }
         }
-        return null;
+        if (bits.size() > MAX_PARAMETER_BITS) {
+            throw new TooManyQueryParametersException(bits.size(), MAX_PARAMETER_BITS);
+        }
+
+        List<ControllerMethodAdapter> sorted = new ArrayList<>(methodAdapters);
+        sorted.sort(Comparator.comparingLong((ControllerMethodAdapter adapter) -> adapter.getRequiredParameterNames().stream().distinct().count()).reversed());
+
+        int count = sorted.size();
+        ControllerMethodAdapter[] newCandidates = sorted.toArray(new ControllerMethodAdapter[0]);
+        long[] masks = new long[count];
+        int[] sizes = new int[count];
+        for (int i = 0; i < count; i++) {
+            for (String name : newCandidates[i].getRequiredParameterNames()) {
+                masks[i] |= 1L << bits.get(name);
+            }
+            sizes[i] = Long.bitCount(masks[i]);
+        }
+        checkNoDuplicateMasks(newCandidates, masks);
+
+        this.parameterBits = bits;
+        this.candidates = newCandidates;
+        this.candidateMasks = masks;
+        this.candidateSizes = sizes;
+        buildLookupTable(bits.size());
+    }
+
+    private static void checkNoDuplicateMasks(ControllerMethodAdapter[] adapters, long[] masks) {
+        for (int i = 0; i < adapters.length; i++) {
+            for (int j = i + 1; j < adapters.length; j++) {
+                if (masks[i] == masks[j]) {
+                    throw new AmbiguousControllerMethodsException(adapters[i].toString(), adapters[j].toString());
+                }
+            }
+        }
+    }
+
+    private void buildLookupTable(int bitCount) {
+        if (bitCount > MAX_LOOKUP_TABLE_BITS) {
+            this.lookupTable = null;
+            this.ambiguousMasks = null;
+            return;
+        }
+        int size = 1 << bitCount;
+        ControllerMethodAdapter[] table = new ControllerMethodAdapter[size];
+        boolean[] ambiguous = new boolean[size];
+        for (int mask = 0; mask < size; mask++) {
+            int best = findBestCandidate(mask);
+            if (best >= 0) {
+                table[mask] = candidates[best];
+            } else if (best == -2) {
+                ambiguous[mask] = true;
+            }
+        }
+        this.lookupTable = table;
+        this.ambiguousMasks = ambiguous;
+    }
+
+    /**
+     * @return index of best candidate, -1 if no candidate matches, -2 if the best match is ambiguous
+     */
+    private int findBestCandidate(long requestMask) {
+        for (int i = 0; i < candidates.length; i++) {
+            if ((candidateMasks[i] & requestMask) != candidateMasks[i]) {
+                continue;
+            }
+            for (int j = i + 1; j < candidates.length && candidateSizes[j] == candidateSizes[i]; j++) {
+                if ((candidateMasks[j] & requestMask) == candidateMasks[j]) {
+                    return -2;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @return adapter of the overload which should handle the request, or null if none matches
+     * @throws AmbiguousRequestException if several overloads match the request equally well
+     */
+    public ControllerMethodAdapter chooseMethodAdapter(HttpServletRequest req) throws AmbiguousRequestException {
+        long requestMask = 0;
+        for (String name : req.getParameterMap().keySet()) {
+            Integer bit = parameterBits.get(name);
+            if (bit != null) {
+                requestMask |= 1L << bit;
+            }
+        }
+
+        if (lookupTable != null) {
+            int index = (int) requestMask;
+            if (ambiguousMasks[index]) {
+                throw new AmbiguousRequestException();
+            }
+            return lookupTable[index];
+        }
+
+        int best = findBestCandidate(requestMask);
+        if (best == -2) {
+            throw new AmbiguousRequestException();
+        }
+        return best >= 0 ? candidates[best] : null;
     }
 }
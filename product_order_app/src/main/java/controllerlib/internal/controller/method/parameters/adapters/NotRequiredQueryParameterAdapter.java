@@ -1,27 +1,33 @@
 package controllerlib.internal.controller.method.parameters.adapters;
 
 import controllerlib.exposed.annotations.NotRequiredQueryParam;
+import controllerlib.exposed.exceptions.ControllerMethodParameterMappingException;
 import controllerlib.internal.controller.method.parameters.adapters.base.AbstractQueryParameterAdapter;
 import jakarta.servlet.http.HttpServletRequest;
 
 import java.lang.reflect.Parameter;
 
 import static controllerlib.internal.TypeUtils.getDefaultValue;
-import static controllerlib.internal.TypeUtils.parsePrimitives;
 
 public class NotRequiredQueryParameterAdapter extends AbstractQueryParameterAdapter<NotRequiredQueryParam> {
+    private static final String[] NO_VALUES = new String[0];
+
     public NotRequiredQueryParameterAdapter(Parameter parameter, NotRequiredQueryParam annotation) {
         super(parameter, annotation, annotation.value());
     }
 
+    /**
+     * A missing parameter maps to the default value of its type, or to an empty array or collection
+     */
     @Override
-    public Object mapValue(HttpServletRequest request) {
+    public Object mapValue(HttpServletRequest request) throws ControllerMethodParameterMappingException {
         var requestParamMap = request.getParameterMap();
         if (!requestParamMap.containsKey(parameterName) || requestParamMap.get(parameterName).length == 0) {
-            return getDefaultValue(parameter.getType());
+            return multiValueParser != null
+                    ? multiValueParser.parse(NO_VALUES)
+                    : getDefaultValue(parameter.getType());
         }
 
-        String requestParamValue = requestParamMap.get(parameterName)[0];
-        return parsePrimitives(parameter.getType(), requestParamValue);
+        return parseValues(requestParamMap.get(parameterName));
     }
 }
@@ -1,11 +1,12 @@
 package controllerlib.internal.controller.method.parameters.adapters;
 
 import com.fasterxml.jackson.databind.JavaType;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import controllerlib.exposed.annotations.FromRequestBody;
 import controllerlib.internal.controller.method.parameters.adapters.base.ControllerMethodParameterAdapter;
 import controllerlib.exposed.exceptions.ControllerMethodParameterMappingException;
 import controllerlib.exposed.exceptions.InvalidRequestContentTypeException;
+import controllerlib.internal.json.JsonCodecRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 
 import java.io.IOException;
@@ -14,11 +15,19 @@ import java.lang.reflect.Parameter;
 public class RequestBodyParameterAdapter extends ControllerMethodParameterAdapter<FromRequestBody> {
     private static final String EXPECTED_CONTENT_TYPE = "application/json";
 
-    private final ObjectMapper jsonMapper;
+    private final ObjectReader jsonReader;
 
     public RequestBodyParameterAdapter(Parameter parameter, FromRequestBody annotation) {
         super(parameter, annotation);
-        this.jsonMapper = new ObjectMapper();
+        this.jsonReader = JsonCodecRegistry.readerFor(resolveBodyType(parameter, annotation));
+    }
+
+    private static JavaType resolveBodyType(Parameter parameter, FromRequestBody annotation) {
+        if (annotation.isGenericCollection()) {
+            return JsonCodecRegistry.getTypeFactory()
+                    .constructCollectionType(annotation.collectionType(), annotation.elementType());
+        }
+        return JsonCodecRegistry.getTypeFactory().constructType(parameter.getParameterizedType());
     }
 
     @Override
@@ -29,14 +38,7 @@ public class RequestBodyParameterAdapter extends ControllerMethodParameterAdapte
         }
 
         try {
-            if (annotation.isGenericCollection()) {
-                JavaType type = jsonMapper
-                        .getTypeFactory()
-                        .constructCollectionType(annotation.collectionType(), annotation.elementType());
-                return jsonMapper.readValue(request.getReader(), type);
-            } else {
-                return jsonMapper.readValue(request.getReader(), parameter.getType());
-            }
+            return jsonReader.readValue(request.getReader());
         } catch (IOException e) {
             throw new ControllerMethodParameterMappingException("Error while reading request body");
         }
@@ -0,0 +1,22 @@
+package controllerlib.internal.controller.method.parameters.adapters;
+
+import controllerlib.exposed.RequestPreconditions;
+import controllerlib.internal.controller.method.parameters.adapters.base.ControllerMethodParameterAdapter;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Parameter;
+
+/**
+ * Adapter for not annotated parameters of type {@link RequestPreconditions}
+ */
+public class RequestPreconditionsParameterAdapter extends ControllerMethodParameterAdapter<Annotation> {
+    public RequestPreconditionsParameterAdapter(Parameter parameter) {
+        super(parameter, null);
+    }
+
+    @Override
+    public Object mapValue(HttpServletRequest request) {
+        return RequestPreconditions.fromRequest(request);
+    }
+}
@@ -2,19 +2,30 @@ package controllerlib.internal.controller.method.parameters.adapters.base;
 
 
 import controllerlib.exposed.exceptions.InvalidQueryParameterTypeException;
+import controllerlib.exposed.exceptions.InvalidQueryParameterValueException;
+import controllerlib.internal.MultiValueParser;
 import lombok.Getter;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Parameter;
 
+import static controllerlib.internal.TypeUtils.parsePrimitives;
+
 public abstract class AbstractQueryParameterAdapter<TAnnotation extends Annotation> extends ControllerMethodParameterAdapter<TAnnotation> {
     @Getter
     protected final String parameterName;
+    /**
+     * Not null if the parameter is an array or collection which takes all values of the query parameter
+     */
+    protected final MultiValueParser multiValueParser;
 
     public AbstractQueryParameterAdapter(Parameter parameter, TAnnotation annotation, String parameterName) {
         super(parameter, annotation);
-        isParameterTypePrimitiveOrString(parameter);
         this.parameterName = parameterName;
+        this.multiValueParser = MultiValueParser.forParameter(parameter, parameterName);
+        if (multiValueParser == null) {
+            isParameterTypePrimitiveOrString(parameter);
+        }
     }
 
     private static void isParameterTypePrimitiveOrString(Parameter parameter) {
@@ -22,4 +33,18 @@ public abstract class AbstractQueryParameterAdapter<TAnnotation extends Annotati
             throw new InvalidQueryParameterTypeException(parameter.getName(), parameter.getType().getSimpleName());
         }
     }
+
+    /**
+     * @param values all values of the query parameter, at least one
+     */
+    protected Object parseValues(String[] values) throws InvalidQueryParameterValueException {
+        if (multiValueParser != null) {
+            return multiValueParser.parse(values);
+        }
+        try {
+            return parsePrimitives(parameter.getType(), values[0]);
+        } catch (NumberFormatException e) {
+            throw new InvalidQueryParameterValueException(parameterName, values[0]);
+        }
+    }
 }
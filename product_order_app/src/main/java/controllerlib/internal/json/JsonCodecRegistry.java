@@ -0,0 +1,72 @@
+package controllerlib.internal.json;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Framework-wide JSON codecs. Readers and writers are resolved once per type, when controllers are initialized,
+ * and shared by all adapters, so serializer discovery never happens on the request path.
+ */
+public final class JsonCodecRegistry {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectWriter UNTYPED_WRITER = MAPPER.writer();
+    private static final Map<JavaType, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final Map<JavaType, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    private JsonCodecRegistry() {
+    }
+
+    public static TypeFactory getTypeFactory() {
+        return MAPPER.getTypeFactory();
+    }
+
+    public static ObjectReader readerFor(JavaType type) {
+        return READERS.computeIfAbsent(type, MAPPER::readerFor);
+    }
+
+    public static ObjectReader readerFor(Type type) {
+        return readerFor(getTypeFactory().constructType(type));
+    }
+
+    /**
+     * @return writer bound to given type or untyped writer if the type is not concrete (type variable, wildcard)
+     */
+    public static ObjectWriter writerFor(Type type) {
+        if (!isConcrete(type)) {
+            return UNTYPED_WRITER;
+        }
+        return WRITERS.computeIfAbsent(getTypeFactory().constructType(type), MAPPER::writerFor);
+    }
+
+    /**
+     * @return writer for elements of a streamed JSON array. It does not flush after every element,
+     * so the output is sent in buffer-sized chunks
+     */
+    public static ObjectWriter streamElementWriterFor(Type elementType) {
+        return writerFor(elementType).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    private static boolean isConcrete(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return !clazz.equals(Object.class);
+        }
+        if (type instanceof ParameterizedType parameterizedType) {
+            for (Type argument : parameterizedType.getActualTypeArguments()) {
+                if (!isConcrete(argument)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,112 @@
+package controllerlib.internal.limits;
+
+import controllerlib.exposed.annotations.ConcurrencyLimit;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AIMD concurrency limit, see {@link ConcurrencyLimit}.
+ * Admission is a CAS on the in-flight counter, only limit updates are synchronized.
+ * <p>
+ * Critical limiters report overload (a rejection, a slow or failed request) to a {@link CriticalLoadSignal}
+ * shared by all routes. Background limiters admit at most minLimit requests while that signal is on,
+ * so the database capacity they free goes to critical routes.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double CRITICAL_BACKOFF_RATIO = 0.9;
+    private static final double BACKGROUND_BACKOFF_RATIO = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+    private final boolean background;
+    private final CriticalLoadSignal criticalLoad = CriticalLoadSignal.DEFAULT;
+    @Getter
+    private final int retryAfterSeconds;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile double limit;
+    /**
+     * Guarded by this
+     */
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimit settings) {
+        this.minLimit = settings.minLimit();
+        this.maxLimit = settings.maxLimit();
+        this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(settings.latencyTargetMillis());
+        this.background = settings.priority() == ConcurrencyLimit.Priority.BACKGROUND;
+        this.backoffRatio = background ? BACKGROUND_BACKOFF_RATIO : CRITICAL_BACKOFF_RATIO;
+        this.retryAfterSeconds = settings.retryAfterSeconds();
+        this.limit = settings.initialLimit();
+        this.lastDecreaseNanos = System.nanoTime() - latencyTargetNanos;
+    }
+
+    public static boolean isValid(ConcurrencyLimit settings) {
+        return settings.minLimit() >= 1
+                && settings.minLimit() <= settings.initialLimit()
+                && settings.initialLimit() <= settings.maxLimit()
+                && settings.latencyTargetMillis() > 0;
+    }
+
+    /**
+     * @return true if the request is admitted, it must then be followed by exactly one {@link #release}
+     */
+    public boolean tryAcquire() {
+        int effectiveLimit = background && criticalLoad.isOverloaded() ? minLimit : (int) limit;
+        while (true) {
+            int current = inFlight.get();
+            if (current >= effectiveLimit) {
+                rejected.increment();
+                if (!background) {
+                    criticalLoad.reportOverload(latencyTargetNanos);
+                }
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param failed request ended with 5xx or timed out
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        long now = System.nanoTime();
+        boolean overloaded = failed || latencyNanos > latencyTargetNanos;
+        if (overloaded && !background) {
+            criticalLoad.reportOverload(latencyTargetNanos);
+        }
+        synchronized (this) {
+            if (overloaded) {
+                // One latency spike completes all in-flight requests as slow, that is a single overload signal
+                if (now - lastDecreaseNanos >= latencyTargetNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = now;
+                }
+            } else if (inFlightBefore * 2 >= limit) {
+                // Grow only while the limit is actually used, an idle route must not accumulate headroom
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
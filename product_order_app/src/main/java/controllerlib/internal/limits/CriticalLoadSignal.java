@@ -0,0 +1,26 @@
+package controllerlib.internal.limits;
+
+/**
+ * Shared by all limiters of the application: critical routes report overload here,
+ * background routes shrink to their minimum limit while it lasts.
+ */
+final class CriticalLoadSignal {
+    static final CriticalLoadSignal DEFAULT = new CriticalLoadSignal();
+
+    private volatile long overloadedUntilNanos = System.nanoTime();
+
+    /**
+     * @param durationNanos how long background routes give way, at least until the next report
+     */
+    void reportOverload(long durationNanos) {
+        long until = System.nanoTime() + durationNanos;
+        // Racy, a concurrent report may shorten the period slightly, which is fine for a load hint
+        if (until - overloadedUntilNanos > 0) {
+            overloadedUntilNanos = until;
+        }
+    }
+
+    boolean isOverloaded() {
+        return overloadedUntilNanos - System.nanoTime() > 0;
+    }
+}
@@ -0,0 +1,58 @@
+package controllerlib.internal.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram with fixed buckets. Recording is lock-free and does not allocate.
+ */
+public class LatencyHistogram {
+    static final long[] BUCKET_UPPER_BOUNDS_NANOS = {
+            TimeUnit.MICROSECONDS.toNanos(50),
+            TimeUnit.MICROSECONDS.toNanos(100),
+            TimeUnit.MICROSECONDS.toNanos(250),
+            TimeUnit.MICROSECONDS.toNanos(500),
+            TimeUnit.MILLISECONDS.toNanos(1),
+            TimeUnit.MICROSECONDS.toNanos(2500),
+            TimeUnit.MILLISECONDS.toNanos(5),
+            TimeUnit.MILLISECONDS.toNanos(10),
+            TimeUnit.MILLISECONDS.toNanos(25),
+            TimeUnit.MILLISECONDS.toNanos(50),
+            TimeUnit.MILLISECONDS.toNanos(100),
+            TimeUnit.MILLISECONDS.toNanos(250),
+            TimeUnit.MILLISECONDS.toNanos(500),
+            TimeUnit.SECONDS.toNanos(1),
+            TimeUnit.MILLISECONDS.toNanos(2500),
+            TimeUnit.SECONDS.toNanos(5),
+            TimeUnit.SECONDS.toNanos(10)
+    };
+
+    // Last bucket counts values above the largest bound
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_UPPER_BOUNDS_NANOS.length + 1);
+    private final LongAdder sumNanos = new LongAdder();
+
+    public void record(long nanos) {
+        int bucket = 0;
+        while (bucket < BUCKET_UPPER_BOUNDS_NANOS.length && nanos > BUCKET_UPPER_BOUNDS_NANOS[bucket]) {
+            bucket++;
+        }
+        bucketCounts.incrementAndGet(bucket);
+        sumNanos.add(nanos);
+    }
+
+    /**
+     * @return not cumulative count of every bucket, the last one is for values above all bounds
+     */
+    public long[] getBucketCounts() {
+        long[] result = new long[bucketCounts.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bucketCounts.get(i);
+        }
+        return result;
+    }
+
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+}
@@ -0,0 +1,101 @@
+package controllerlib.internal.metrics;
+
+import controllerlib.internal.limits.AdaptiveConcurrencyLimiter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holds metrics of all routes and renders them in Prometheus text exposition format
+ */
+public class MetricsRegistry {
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final List<RouteMetrics> routes = new CopyOnWriteArrayList<>();
+
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Called at init time, the returned object is used for recording on the request path
+     */
+    public RouteMetrics register(String route, String httpMethod, String overload) {
+        RouteMetrics metrics = new RouteMetrics(route, httpMethod, overload);
+        routes.add(metrics);
+        return metrics;
+    }
+
+    public void unregister(RouteMetrics metrics) {
+        routes.remove(metrics);
+    }
+
+    public void writePrometheus(Writer out) throws IOException {
+        out.write("# HELP controllerlib_phase_duration_seconds Time spent in a request processing phase\n");
+        out.write("# TYPE controllerlib_phase_duration_seconds histogram\n");
+        for (RouteMetrics metrics : routes) {
+            for (Phase phase : Phase.values()) {
+                writeHistogram(out, metrics, phase);
+            }
+        }
+
+        out.write("# HELP controllerlib_requests_total Responses by status\n");
+        out.write("# TYPE controllerlib_requests_total counter\n");
+        for (RouteMetrics metrics : routes) {
+            for (int status = 0; status <= RouteMetrics.getMaxStatus(); status++) {
+                long count = metrics.getStatusCount(status);
+                if (count > 0) {
+                    out.write("controllerlib_requests_total{" + labels(metrics) + ",status=\"" + status + "\"} " + count + "\n");
+                }
+            }
+        }
+
+        out.write("# HELP controllerlib_concurrency_limit Current adaptive concurrency limit\n");
+        out.write("# TYPE controllerlib_concurrency_limit gauge\n");
+        out.write("# HELP controllerlib_concurrency_in_flight Requests holding a concurrency limit slot\n");
+        out.write("# TYPE controllerlib_concurrency_in_flight gauge\n");
+        for (RouteMetrics metrics : routes) {
+            AdaptiveConcurrencyLimiter limiter = metrics.getConcurrencyLimiter();
+            if (limiter != null) {
+                out.write("controllerlib_concurrency_limit{" + labels(metrics) + "} " + limiter.getLimit() + "\n");
+                out.write("controllerlib_concurrency_in_flight{" + labels(metrics) + "} " + limiter.getInFlight() + "\n");
+            }
+        }
+    }
+
+    private static void writeHistogram(Writer out, RouteMetrics metrics, Phase phase) throws IOException {
+        LatencyHistogram histogram = metrics.getHistogram(phase);
+        long[] counts = histogram.getBucketCounts();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return;
+        }
+
+        String labels = labels(metrics) + ",phase=\"" + phase.label + "\"";
+        long cumulative = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKET_UPPER_BOUNDS_NANOS.length; i++) {
+            cumulative += counts[i];
+            double bound = LatencyHistogram.BUCKET_UPPER_BOUNDS_NANOS[i] / NANOS_PER_SECOND;
+            out.write("controllerlib_phase_duration_seconds_bucket{" + labels + ",le=\"" + bound + "\"} " + cumulative + "\n");
+        }
+        out.write("controllerlib_phase_duration_seconds_bucket{" + labels + ",le=\"+Inf\"} " + total + "\n");
+        out.write("controllerlib_phase_duration_seconds_sum{" + labels + "} " + histogram.getSumNanos() / NANOS_PER_SECOND + "\n");
+        out.write("controllerlib_phase_duration_seconds_count{" + labels + "} " + total + "\n");
+    }
+
+    private static String labels(RouteMetrics metrics) {
+        return "route=\"" + escape(metrics.route)
+                + "\",method=\"" + metrics.httpMethod
+                + "\",overload=\"" + escape(metrics.overload) + "\"";
+    }
+
+    private static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
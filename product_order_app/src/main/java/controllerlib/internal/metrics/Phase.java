@@ -0,0 +1,17 @@
+package controllerlib.internal.metrics;
+
+/**
+ * Request processing phases of BaseControllerServlet
+ */
+public enum Phase {
+    OVERLOAD_SELECTION("select"),
+    PARAMETER_MAPPING("bind"),
+    CONTROLLER_INVOKE("invoke"),
+    SERIALIZATION("serialize");
+
+    final String label;
+
+    Phase(String label) {
+        this.label = label;
+    }
+}
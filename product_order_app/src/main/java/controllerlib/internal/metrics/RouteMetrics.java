@@ -0,0 +1,61 @@
+package controllerlib.internal.metrics;
+
+import controllerlib.internal.limits.AdaptiveConcurrencyLimiter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latencies per phase and response counts per status of one controller method overload
+ */
+public class RouteMetrics {
+    private static final int MAX_STATUS = 599;
+
+    final String route;
+    final String httpMethod;
+    final String overload;
+    private final LatencyHistogram[] phaseHistograms = new LatencyHistogram[Phase.values().length];
+    private final AtomicLongArray statusCounts = new AtomicLongArray(MAX_STATUS + 1);
+    /**
+     * Null if the overload has no concurrency limit
+     */
+    private volatile AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    RouteMetrics(String route, String httpMethod, String overload) {
+        this.route = route;
+        this.httpMethod = httpMethod;
+        this.overload = overload;
+        for (int i = 0; i < phaseHistograms.length; i++) {
+            phaseHistograms[i] = new LatencyHistogram();
+        }
+    }
+
+    public void recordPhase(Phase phase, long nanos) {
+        phaseHistograms[phase.ordinal()].record(nanos);
+    }
+
+    public void recordStatus(int status) {
+        if (status >= 0 && status <= MAX_STATUS) {
+            statusCounts.incrementAndGet(status);
+        }
+    }
+
+    public void setConcurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    LatencyHistogram getHistogram(Phase phase) {
+        return phaseHistograms[phase.ordinal()];
+    }
+
+    long getStatusCount(int status) {
+        return statusCounts.get(status);
+    }
+
+    static int getMaxStatus() {
+        return MAX_STATUS;
+    }
+}
@@ -0,0 +1,86 @@
+package controllerlib.internal.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Collects written bytes in fixed size chunks taken from a shared pool, so a response body is neither
+ * copied when it grows nor allocated anew for every request. {@link #release} returns the chunks to the pool,
+ * the stream must not be used afterwards. Closing has no effect, as serializers close their target.
+ */
+public final class PooledByteArrayOutputStream extends OutputStream {
+    static final int CHUNK_SIZE = 16 * 1024;
+    /**
+     * Retains at most 8 MiB of idle chunks
+     */
+    private static final ArrayBlockingQueue<byte[]> IDLE_CHUNKS = new ArrayBlockingQueue<>(512);
+
+    private final List<byte[]> chunks = new ArrayList<>(4);
+    private byte[] current;
+    private int position;
+    private long size;
+
+    public PooledByteArrayOutputStream() {
+        current = acquireChunk();
+        chunks.add(current);
+    }
+
+    @Override
+    public void write(int b) {
+        if (position == CHUNK_SIZE) {
+            nextChunk();
+        }
+        current[position++] = (byte) b;
+        size++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            if (position == CHUNK_SIZE) {
+                nextChunk();
+            }
+            int copied = Math.min(length, CHUNK_SIZE - position);
+            System.arraycopy(bytes, offset, current, position, copied);
+            position += copied;
+            offset += copied;
+            length -= copied;
+            size += copied;
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        int last = chunks.size() - 1;
+        for (int i = 0; i < last; i++) {
+            out.write(chunks.get(i), 0, CHUNK_SIZE);
+        }
+        out.write(chunks.get(last), 0, position);
+    }
+
+    public void release() {
+        for (byte[] chunk : chunks) {
+            // When the pool is full the chunk is simply dropped
+            IDLE_CHUNKS.offer(chunk);
+        }
+        chunks.clear();
+        current = null;
+    }
+
+    private void nextChunk() {
+        current = acquireChunk();
+        chunks.add(current);
+        position = 0;
+    }
+
+    private static byte[] acquireChunk() {
+        byte[] chunk = IDLE_CHUNKS.poll();
+        return chunk != null ? chunk : new byte[CHUNK_SIZE];
+    }
+}
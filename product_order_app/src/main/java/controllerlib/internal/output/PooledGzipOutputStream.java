@@ -0,0 +1,82 @@
+package controllerlib.internal.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Gzip stream like {@link java.util.zip.GZIPOutputStream}, but with a {@link Deflater} from a shared pool.
+ * A new deflater allocates native zlib state of a few hundred KiB, which is too much per response.
+ * {@link #finish} returns the deflater to the pool, {@link #close} also closes the underlying stream.
+ */
+public final class PooledGzipOutputStream extends DeflaterOutputStream {
+    private static final int BUFFER_SIZE = 4096;
+    private static final byte[] HEADER = {
+            0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+    };
+    private static final ArrayBlockingQueue<Deflater> IDLE_DEFLATERS = new ArrayBlockingQueue<>(64);
+
+    private final CRC32 crc = new CRC32();
+    private boolean finished;
+
+    public PooledGzipOutputStream(OutputStream out) throws IOException {
+        super(out, acquireDeflater(), BUFFER_SIZE);
+        out.write(HEADER);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        super.write(bytes, offset, length);
+        crc.update(bytes, offset, length);
+    }
+
+    /**
+     * Writes the remaining compressed data and the trailer, the stream can not be written afterwards
+     */
+    @Override
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        try {
+            super.finish();
+            writeIntLE((int) crc.getValue());
+            writeIntLE((int) def.getBytesRead());
+        } finally {
+            releaseDeflater(def);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeIntLE(int value) throws IOException {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+
+    private static Deflater acquireDeflater() {
+        Deflater deflater = IDLE_DEFLATERS.poll();
+        // Fastest level: JSON still shrinks to a fraction and compression stays cheaper than the serialization
+        return deflater != null ? deflater : new Deflater(Deflater.BEST_SPEED, true);
+    }
+
+    private static void releaseDeflater(Deflater deflater) {
+        deflater.reset();
+        if (!IDLE_DEFLATERS.offer(deflater)) {
+            deflater.end();
+        }
+    }
+}
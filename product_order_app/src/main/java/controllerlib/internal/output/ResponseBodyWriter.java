@@ -0,0 +1,130 @@
+package controllerlib.internal.output;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Writes JSON response bodies with Content-Type and Content-Length, gzip compressed when the client accepts it
+ * and the body is larger than {@value #GZIP_THRESHOLD_BYTES} bytes.
+ * <p>
+ * ETags of controller results are weak, so compressed and identity bodies can share them.
+ */
+public final class ResponseBodyWriter {
+    public static final String JSON_CONTENT_TYPE = "application/json";
+    /**
+     * Smaller bodies fit into a single TCP segment anyway
+     */
+    static final int GZIP_THRESHOLD_BYTES = 1024;
+
+    private ResponseBodyWriter() {
+    }
+
+    public static void writeJson(ObjectWriter writer, Object value, HttpServletRequest req, HttpServletResponse resp)
+            throws IOException {
+        var body = new PooledByteArrayOutputStream();
+        try {
+            writer.writeValue(body, value);
+            write(body, req, resp);
+        } finally {
+            body.release();
+        }
+    }
+
+    /**
+     * @param json already serialized body
+     */
+    public static void writeJson(byte[] json, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        var body = new PooledByteArrayOutputStream();
+        try {
+            body.write(json, 0, json.length);
+            write(body, req, resp);
+        } finally {
+            body.release();
+        }
+    }
+
+    /**
+     * For bodies of unknown length, which are sent chunked. The returned stream must be closed.
+     */
+    public static OutputStream openJsonStream(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        resp.setContentType(JSON_CONTENT_TYPE);
+        resp.addHeader("Vary", "Accept-Encoding");
+        if (acceptsGzip(req)) {
+            resp.setHeader("Content-Encoding", "gzip");
+            return new PooledGzipOutputStream(resp.getOutputStream());
+        }
+        return resp.getOutputStream();
+    }
+
+    private static void write(PooledByteArrayOutputStream body, HttpServletRequest req, HttpServletResponse resp)
+            throws IOException {
+        resp.setContentType(JSON_CONTENT_TYPE);
+        if (body.size() <= GZIP_THRESHOLD_BYTES) {
+            send(body, resp);
+            return;
+        }
+        resp.addHeader("Vary", "Accept-Encoding");
+        if (!acceptsGzip(req)) {
+            send(body, resp);
+            return;
+        }
+        var compressed = new PooledByteArrayOutputStream();
+        try {
+            try (var gzip = new PooledGzipOutputStream(compressed)) {
+                body.writeTo(gzip);
+            }
+            if (compressed.size() >= body.size()) {
+                send(body, resp);
+                return;
+            }
+            resp.setHeader("Content-Encoding", "gzip");
+            send(compressed, resp);
+        } finally {
+            compressed.release();
+        }
+    }
+
+    private static void send(PooledByteArrayOutputStream body, HttpServletResponse resp) throws IOException {
+        resp.setContentLengthLong(body.size());
+        body.writeTo(resp.getOutputStream());
+    }
+
+    /**
+     * @return true if Accept-Encoding lists gzip or * without q=0
+     */
+    static boolean acceptsGzip(HttpServletRequest req) {
+        String acceptEncoding = req.getHeader("Accept-Encoding");
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!name.equals("gzip") && !name.equals("x-gzip") && !name.equals("*")) {
+                continue;
+            }
+            return !hasZeroQuality(parts);
+        }
+        return false;
+    }
+
+    private static boolean hasZeroQuality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+                    && parameter.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
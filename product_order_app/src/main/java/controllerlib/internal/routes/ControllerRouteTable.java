@@ -0,0 +1,10 @@
+package controllerlib.internal.routes;
+
+import java.util.List;
+
+/**
+ * Implemented by classes generated at compile time by the route table processor, one per controller
+ */
+public interface ControllerRouteTable {
+    List<Route> getRoutes() throws NoSuchMethodException;
+}
@@ -0,0 +1,69 @@
+package controllerlib.internal.routes;
+
+import controllerlib.exposed.BaseController;
+import controllerlib.exposed.annotations.HttpDelete;
+import controllerlib.exposed.annotations.HttpGet;
+import controllerlib.exposed.annotations.HttpPost;
+import controllerlib.exposed.annotations.HttpPut;
+import controllerlib.exposed.exceptions.InvalidRouteTableException;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves the routes of a controller from its generated route table.
+ * Controllers compiled without the processor are scanned with reflection once.
+ * Tables can be disabled with the system property controllerlib.routeTables=false.
+ */
+public final class ControllerRoutes {
+    private static final String TABLE_SUFFIX = "_Routes";
+    private static final List<Class<? extends Annotation>> HTTP_ANNOTATIONS =
+            List.of(HttpGet.class, HttpPost.class, HttpPut.class, HttpDelete.class);
+
+    private ControllerRoutes() {
+    }
+
+    public static List<Route> resolve(Class<? extends BaseController> controllerClass) {
+        if (Boolean.parseBoolean(System.getProperty("controllerlib.routeTables", "true"))) {
+            ControllerRouteTable table = loadTable(controllerClass);
+            if (table != null) {
+                try {
+                    return table.getRoutes();
+                } catch (NoSuchMethodException e) {
+                    // Table is stale, e.g. the controller was recompiled without the processor
+                    throw new InvalidRouteTableException(controllerClass.getName(), e);
+                }
+            }
+        }
+        return scan(controllerClass);
+    }
+
+    private static ControllerRouteTable loadTable(Class<?> controllerClass) {
+        Class<?> tableClass;
+        try {
+            tableClass = Class.forName(controllerClass.getName() + TABLE_SUFFIX, true, controllerClass.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        try {
+            return (ControllerRouteTable) tableClass.getConstructor().newInstance();
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new InvalidRouteTableException(controllerClass.getName(), e);
+        }
+    }
+
+    private static List<Route> scan(Class<? extends BaseController> controllerClass) {
+        List<Route> routes = new ArrayList<>();
+        for (Method method : controllerClass.getMethods()) {
+            for (Class<? extends Annotation> httpAnnotation : HTTP_ANNOTATIONS) {
+                if (method.isAnnotationPresent(httpAnnotation)) {
+                    routes.add(new Route(httpAnnotation, method));
+                }
+            }
+        }
+        return routes;
+    }
+}
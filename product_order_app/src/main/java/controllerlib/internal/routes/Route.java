@@ -0,0 +1,10 @@
+package controllerlib.internal.routes;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * Controller method together with its HTTP method annotation type
+ */
+public record Route(Class<? extends Annotation> httpAnnotation, Method method) {
+}
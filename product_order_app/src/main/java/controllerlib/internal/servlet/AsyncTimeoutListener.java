@@ -0,0 +1,45 @@
+package controllerlib.internal.servlet;
+
+import controllerlib.internal.metrics.RouteMetrics;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Answers 503 if an async controller method did not complete within the container's async timeout.
+ * The shared flag makes sure that the response is finished only once, either here or by the completed method,
+ * and whichever finishes it records its status.
+ */
+class AsyncTimeoutListener implements AsyncListener {
+    private final AtomicBoolean finished;
+    private final RouteMetrics metrics;
+
+    AsyncTimeoutListener(AtomicBoolean finished, RouteMetrics metrics) {
+        this.finished = finished;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        if (finished.compareAndSet(false, true)) {
+            ((HttpServletResponse) event.getSuppliedResponse()).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            metrics.recordStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            event.getAsyncContext().complete();
+        }
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        finished.set(true);
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+}
@@ -1,23 +1,47 @@
 package controllerlib.internal.servlet;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import controllerlib.exposed.annotations.HttpDelete;
 import controllerlib.exposed.annotations.HttpGet;
 import controllerlib.exposed.annotations.HttpPost;
 import controllerlib.exposed.annotations.HttpPut;
 import controllerlib.exposed.BaseController;
 import controllerlib.exposed.ControllerResult;
+import controllerlib.exposed.RequestPreconditions;
+import controllerlib.internal.controller.instances.ControllerInstanceProvider;
 import controllerlib.internal.controller.method.adapters.ControllerMethodAdapter;
 import controllerlib.internal.controller.method.adapters.ControllerMethodAdaptersContainer;
 import controllerlib.exposed.exceptions.ControllerMethodParameterMappingException;
+import controllerlib.internal.limits.AdaptiveConcurrencyLimiter;
+import controllerlib.internal.metrics.MetricsRegistry;
+import controllerlib.internal.metrics.Phase;
+import controllerlib.internal.metrics.RouteMetrics;
+import controllerlib.internal.output.ResponseBodyWriter;
+import controllerlib.internal.routes.ControllerRoutes;
+import controllerlib.internal.routes.Route;
+import controllerlib.internal.singleflight.SerializedBody;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletRegistration;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 public abstract class BaseControllerServlet extends HttpServlet {
+    /**
+     * A full executor queue usually drains within a few invocations
+     */
+    private static final int REJECTED_RETRY_AFTER_SECONDS = 1;
+
     private final Class<? extends BaseController> controllerClass = getControllerClass();
 
     private ControllerMethodAdaptersContainer httpGetMethodAdapters;
@@ -29,10 +53,27 @@ public abstract class BaseControllerServlet extends HttpServlet {
 
     @Override
     public void init() {
-        httpGetMethodAdapters = ControllerMethodAdaptersContainer.createFromController(controllerClass, HttpGet.class);
-        httpPostMethodAdapters = ControllerMethodAdaptersContainer.createFromController(controllerClass, HttpPost.class);
-        httpPutMethodAdapters = ControllerMethodAdaptersContainer.createFromController(controllerClass, HttpPut.class);
-        httpDeleteMethodAdapters = ControllerMethodAdaptersContainer.createFromController(controllerClass, HttpDelete.class);
+        var instanceProvider = ControllerInstanceProvider.createFor(controllerClass);
+        List<Route> routes = ControllerRoutes.resolve(controllerClass);
+        httpGetMethodAdapters = ControllerMethodAdaptersContainer.createFromRoutes(routes, instanceProvider, HttpGet.class);
+        httpPostMethodAdapters = ControllerMethodAdaptersContainer.createFromRoutes(routes, instanceProvider, HttpPost.class);
+        httpPutMethodAdapters = ControllerMethodAdaptersContainer.createFromRoutes(routes, instanceProvider, HttpPut.class);
+        httpDeleteMethodAdapters = ControllerMethodAdaptersContainer.createFromRoutes(routes, instanceProvider, HttpDelete.class);
+
+        String route = getRoute();
+        MetricsRegistry metricsRegistry = MetricsRegistry.getDefault();
+        httpGetMethodAdapters.registerMetrics(metricsRegistry, route, "GET");
+        httpPostMethodAdapters.registerMetrics(metricsRegistry, route, "POST");
+        httpPutMethodAdapters.registerMetrics(metricsRegistry, route, "PUT");
+        httpDeleteMethodAdapters.registerMetrics(metricsRegistry, route, "DELETE");
+    }
+
+    private String getRoute() {
+        ServletRegistration registration = getServletContext().getServletRegistration(getServletName());
+        if (registration == null || registration.getMappings().isEmpty()) {
+            return getServletName();
+        }
+        return String.join(",", registration.getMappings());
     }
 
     @Override
@@ -55,26 +96,205 @@ public abstract class BaseControllerServlet extends HttpServlet {
         processRequest(this.httpDeleteMethodAdapters, req, resp);
     }
 
+    @Override
+    public void destroy() {
+        httpGetMethodAdapters.shutdown();
+        httpPostMethodAdapters.shutdown();
+        httpPutMethodAdapters.shutdown();
+        httpDeleteMethodAdapters.shutdown();
+    }
+
     private void processRequest(ControllerMethodAdaptersContainer methodAdapters, HttpServletRequest req, HttpServletResponse resp) {
+        RouteMetrics metrics = methodAdapters.getUnmatchedMetrics();
+        AdaptiveConcurrencyLimiter limiter = null;
+        long phaseStart = System.nanoTime();
+        long admittedAt = phaseStart;
         try {
             ControllerMethodAdapter chosenMethodAdapter = methodAdapters.chooseMethodAdapter(req);
+            if (chosenMethodAdapter != null) {
+                metrics = chosenMethodAdapter.getMetrics();
+            }
+            phaseStart = recordPhase(metrics, Phase.OVERLOAD_SELECTION, phaseStart);
 
             if (chosenMethodAdapter == null) {
                 resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
                 return;
             }
 
-            ControllerResult<?> controllerResult = chosenMethodAdapter.invoke(req);
+            // Shed load before any work is spent on parameter mapping
+            if (chosenMethodAdapter.getConcurrencyLimiter() != null) {
+                if (!chosenMethodAdapter.getConcurrencyLimiter().tryAcquire()) {
+                    resp.setIntHeader("Retry-After", chosenMethodAdapter.getConcurrencyLimiter().getRetryAfterSeconds());
+                    resp.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                    return;
+                }
+                limiter = chosenMethodAdapter.getConcurrencyLimiter();
+                admittedAt = System.nanoTime();
+            }
+
+            Object[] parameters = chosenMethodAdapter.mapControllerMethodParameters(req);
+            phaseStart = recordPhase(metrics, Phase.PARAMETER_MAPPING, phaseStart);
 
-            resp.setStatus(controllerResult.statusCode());
-            if (controllerResult.resultObject() != null) {
-                String json = new ObjectMapper().writeValueAsString(controllerResult.resultObject());
-                resp.getWriter().write(json);
+            // Servlets without async support still work with async methods, the container thread just waits
+            if (chosenMethodAdapter.isAsync() && req.isAsyncSupported()) {
+                processAsync(chosenMethodAdapter, parameters, req, phaseStart, admittedAt);
+                metrics = null;
+                limiter = null;
+                return;
             }
+
+            ControllerResult<?> controllerResult = chosenMethodAdapter.invoke(parameters);
+            phaseStart = recordPhase(metrics, Phase.CONTROLLER_INVOKE, phaseStart);
+
+            writeResult(chosenMethodAdapter, controllerResult, req, resp);
+            recordPhase(metrics, Phase.SERIALIZATION, phaseStart);
         } catch (ControllerMethodParameterMappingException | JsonProcessingException e) {
             resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-        } catch (IOException e) {
-            resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        } catch (IOException | RuntimeException e) {
+            if (isRejected(e)) {
+                setRejected(resp);
+            } else {
+                log("Error while processing " + req.getMethod() + " " + req.getRequestURI(), e);
+                resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
+        } finally {
+            // Async requests record their status when they complete
+            if (metrics != null) {
+                metrics.recordStatus(resp.getStatus());
+            }
+            if (limiter != null) {
+                limiter.release(System.nanoTime() - admittedAt, resp.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
+        }
+    }
+
+    private static long recordPhase(RouteMetrics metrics, Phase phase, long phaseStart) {
+        long now = System.nanoTime();
+        metrics.recordPhase(phase, now - phaseStart);
+        return now;
+    }
+
+    /**
+     * Releases the container thread and writes the response when the controller method completes
+     */
+    private void processAsync(ControllerMethodAdapter methodAdapter, Object[] parameters, HttpServletRequest req,
+                              long invokeStart, long admittedAt) {
+        AsyncContext asyncContext = req.startAsync();
+        AtomicBoolean finished = new AtomicBoolean();
+        RouteMetrics metrics = methodAdapter.getMetrics();
+        asyncContext.addListener(new AsyncTimeoutListener(finished, metrics));
+        AdaptiveConcurrencyLimiter limiter = methodAdapter.getConcurrencyLimiter();
+
+        methodAdapter.invokeAsync(parameters).whenComplete((controllerResult, error) -> {
+            if (!finished.compareAndSet(false, true)) {
+                // Timed out, the invocation still held its slot until now
+                if (limiter != null) {
+                    limiter.release(System.nanoTime() - admittedAt, true);
+                }
+                return;
+            }
+            long phaseStart = recordPhase(metrics, Phase.CONTROLLER_INVOKE, invokeStart);
+            var resp = (HttpServletResponse) asyncContext.getResponse();
+            try {
+                if (error != null && isRejected(error)) {
+                    setRejected(resp);
+                } else if (error != null) {
+                    log("Error in async controller method " + methodAdapter, error);
+                    resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                } else {
+                    writeResult(methodAdapter, controllerResult, (HttpServletRequest) asyncContext.getRequest(), resp);
+                    recordPhase(metrics, Phase.SERIALIZATION, phaseStart);
+                }
+            } catch (JsonProcessingException e) {
+                resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            } catch (IOException | RuntimeException e) {
+                log("Error while writing response of " + methodAdapter, e);
+                resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            } finally {
+                // Read before complete(), the container may recycle the response afterwards
+                int status = resp.getStatus();
+                metrics.recordStatus(status);
+                try {
+                    asyncContext.complete();
+                } finally {
+                    // Like on the sync path, the slot covers writing the response, e.g. reading a streamed cursor
+                    if (limiter != null) {
+                        limiter.release(System.nanoTime() - admittedAt,
+                                status >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * The executor of a {@link controllerlib.exposed.annotations.VirtualThreadExecution} method is full
+     */
+    private static boolean isRejected(Throwable error) {
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        return cause instanceof RejectedExecutionException;
+    }
+
+    private static void setRejected(HttpServletResponse resp) {
+        resp.setIntHeader("Retry-After", REJECTED_RETRY_AFTER_SECONDS);
+        resp.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    }
+
+    private static void writeResult(ControllerMethodAdapter methodAdapter, ControllerResult<?> controllerResult,
+                                    HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        writeValidators(controllerResult, resp);
+        if (isNotModified(controllerResult, req)) {
+            // Controller did not check preconditions itself, at least serialization is skipped
+            if (controllerResult.resultObject() instanceof Stream<?> stream) {
+                stream.close();
+            }
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        resp.setStatus(controllerResult.statusCode());
+        if (methodAdapter.isStreamingResult() && controllerResult.resultObject() instanceof Stream<?> stream) {
+            writeStream(methodAdapter, stream, req, resp);
+        } else if (controllerResult.resultObject() instanceof SerializedBody body) {
+            ResponseBodyWriter.writeJson(body.bytes(), req, resp);
+        } else if (controllerResult.resultObject() != null) {
+            ResponseBodyWriter.writeJson(methodAdapter.getResultWriter(), controllerResult.resultObject(), req, resp);
+        }
+    }
+
+    private static void writeValidators(ControllerResult<?> controllerResult, HttpServletResponse resp) {
+        if (controllerResult.etag() != null) {
+            resp.setHeader("ETag", RequestPreconditions.formatETag(controllerResult.etag()));
+        }
+        if (controllerResult.lastModified() >= 0) {
+            resp.setDateHeader("Last-Modified", controllerResult.lastModified());
+        }
+    }
+
+    private static boolean isNotModified(ControllerResult<?> controllerResult, HttpServletRequest req) {
+        if (controllerResult.statusCode() != HttpServletResponse.SC_OK || !controllerResult.hasValidators()) {
+            return false;
+        }
+        String method = req.getMethod();
+        if (!method.equals("GET") && !method.equals("HEAD")) {
+            return false;
+        }
+        return RequestPreconditions.fromRequest(req)
+                .isNotModified(controllerResult.etag(), controllerResult.lastModified());
+    }
+
+    /**
+     * Writes elements as a JSON array while they are pulled from the stream, so the whole result is never held in memory.
+     * The length is unknown, so the body is sent chunked.
+     */
+    private static void writeStream(ControllerMethodAdapter methodAdapter, Stream<?> stream,
+                                    HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        try (stream;
+             OutputStream out = ResponseBodyWriter.openJsonStream(req, resp);
+             SequenceWriter sequenceWriter = methodAdapter.getResultWriter().writeValuesAsArray(out)) {
+            Iterator<?> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                sequenceWriter.write(iterator.next());
+            }
         }
     }
-}
\ No newline at end of file
+}
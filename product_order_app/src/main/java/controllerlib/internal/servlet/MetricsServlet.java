@@ -0,0 +1,21 @@
+package controllerlib.internal.servlet;
+
+import controllerlib.internal.metrics.MetricsRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Serves metrics of all controller servlets in Prometheus text format. Map it to a path in web.xml.
+ */
+public class MetricsServlet extends HttpServlet {
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        resp.setContentType(PROMETHEUS_CONTENT_TYPE);
+        MetricsRegistry.getDefault().writePrometheus(resp.getWriter());
+    }
+}
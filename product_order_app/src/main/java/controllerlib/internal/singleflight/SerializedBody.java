@@ -0,0 +1,7 @@
+package controllerlib.internal.singleflight;
+
+/**
+ * Result object which is already serialized to JSON, written to the response as is
+ */
+public record SerializedBody(byte[] bytes) {
+}
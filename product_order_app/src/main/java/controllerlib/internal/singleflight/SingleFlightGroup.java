@@ -0,0 +1,67 @@
+package controllerlib.internal.singleflight;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent calls with equal parameters: the first caller runs the call,
+ * callers arriving while it is in flight get the same future
+ */
+public class SingleFlightGroup<V> {
+    private final Map<Key, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public CompletableFuture<V> execute(Object[] parameters, Supplier<? extends CompletionStage<V>> call) {
+        Key key = new Key(parameters);
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return existing;
+        }
+
+        CompletionStage<V> stage;
+        try {
+            stage = call.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            return flight;
+        }
+        stage.whenComplete((value, error) -> {
+            // Removed before completion, so later callers never get a finished flight
+            inFlight.remove(key, flight);
+            if (error != null) {
+                flight.completeExceptionally(error);
+            } else {
+                flight.complete(value);
+            }
+        });
+        return flight;
+    }
+
+    /**
+     * Compares parameters by content, so array parameters are supported
+     */
+    private static final class Key {
+        private final Object[] parameters;
+        private final int hash;
+
+        Key(Object[] parameters) {
+            this.parameters = parameters;
+            this.hash = Arrays.deepHashCode(parameters);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && hash == other.hash && Arrays.deepEquals(parameters, other.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
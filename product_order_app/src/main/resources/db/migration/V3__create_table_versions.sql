@@ -0,0 +1,32 @@
+BEGIN;
+
+-- Change counter per table, used as a cheap validator for conditional GET requests
+CREATE TABLE table_version (
+	table_name VARCHAR(63) PRIMARY KEY,
+	version BIGINT NOT NULL DEFAULT 0,
+	modified_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+INSERT INTO table_version(table_name)
+VALUES ('vendor'), ('product'), ('orders'), ('product_orders');
+
+-- Statement level, so a bulk insert bumps the counter once instead of once per row
+CREATE FUNCTION bump_table_version() RETURNS TRIGGER AS $$
+BEGIN
+	UPDATE table_version
+	SET version = version + 1, modified_at = now()
+	WHERE table_name = TG_TABLE_NAME;
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER vendor_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON vendor
+	FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version();
+CREATE TRIGGER product_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON product
+	FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version();
+CREATE TRIGGER orders_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON orders
+	FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version();
+CREATE TRIGGER product_orders_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON product_orders
+	FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version();
+
+COMMIT;
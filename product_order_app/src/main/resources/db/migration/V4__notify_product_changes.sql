@@ -0,0 +1,31 @@
+BEGIN;
+
+-- Sends ids of changed products to listeners on commit, used to refresh the in-memory search index.
+-- Notifications with the same payload within one transaction are delivered once.
+CREATE FUNCTION notify_product_changed() RETURNS TRIGGER AS $$
+BEGIN
+	IF TG_OP <> 'INSERT' THEN
+		PERFORM pg_notify('product_changed', OLD.id::text);
+	END IF;
+	IF TG_OP <> 'DELETE' THEN
+		PERFORM pg_notify('product_changed', NEW.id::text);
+	END IF;
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER product_changed AFTER INSERT OR UPDATE OR DELETE ON product
+	FOR EACH ROW EXECUTE FUNCTION notify_product_changed();
+
+-- TRUNCATE has no rows, listeners reload everything on an empty payload
+CREATE FUNCTION notify_product_truncated() RETURNS TRIGGER AS $$
+BEGIN
+	PERFORM pg_notify('product_changed', '');
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER product_truncated AFTER TRUNCATE ON product
+	FOR EACH STATEMENT EXECUTE FUNCTION notify_product_truncated();
+
+COMMIT;
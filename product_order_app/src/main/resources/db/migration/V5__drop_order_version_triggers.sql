@@ -0,0 +1,11 @@
+BEGIN;
+
+-- Every order placement updated the same two table_version rows, which serialized concurrent orders
+-- on their row locks until commit. No endpoint uses these versions as validators.
+DROP TRIGGER orders_version ON orders;
+DROP TRIGGER product_orders_version ON product_orders;
+
+DELETE FROM table_version
+WHERE table_name IN ('orders', 'product_orders');
+
+COMMIT;
@@ -0,0 +1,117 @@
+BEGIN;
+
+-- Price paid per unit, so removing a line later subtracts exactly what was added even if the product price changed
+ALTER TABLE product_orders ADD COLUMN unit_price MONEY;
+
+UPDATE product_orders
+SET unit_price = product.price
+FROM product
+WHERE product.id = product_orders.product_id;
+
+ALTER TABLE product_orders ALTER COLUMN unit_price SET NOT NULL;
+
+-- Units and revenue per vendor of the product, summed over all order lines. Every vendor has up to
+-- 8 slot rows and a write touches the slot of its backend only, so concurrent orders for products
+-- of one vendor do not wait on the same row lock. Readers sum the slots.
+CREATE TABLE vendor_sales (
+	vendor_id INT NOT NULL REFERENCES vendor(id) ON UPDATE CASCADE ON DELETE CASCADE,
+	slot SMALLINT NOT NULL,
+	units BIGINT NOT NULL,
+	revenue MONEY NOT NULL,
+	PRIMARY KEY (vendor_id, slot)
+);
+
+INSERT INTO vendor_sales(vendor_id, slot, units, revenue)
+SELECT product.vendor_id, 0, SUM(product_orders.amount), SUM(product_orders.unit_price * product_orders.amount)
+FROM product_orders
+JOIN product ON product.id = product_orders.product_id
+WHERE product.vendor_id IS NOT NULL
+GROUP BY product.vendor_id;
+
+-- Statement level with transition tables, so an order with many lines costs one upsert per vendor.
+-- Rows are upserted in vendor_id order, so two statements lock the same rows in the same order.
+CREATE FUNCTION add_vendor_sales_of_inserted_lines() RETURNS TRIGGER AS $$
+BEGIN
+	INSERT INTO vendor_sales(vendor_id, slot, units, revenue)
+	SELECT product.vendor_id, pg_backend_pid() % 8, SUM(line.amount), SUM(line.unit_price * line.amount)
+	FROM inserted_lines AS line
+	JOIN product ON product.id = line.product_id
+	WHERE product.vendor_id IS NOT NULL
+	GROUP BY product.vendor_id
+	ORDER BY product.vendor_id
+	ON CONFLICT (vendor_id, slot) DO UPDATE
+	SET units = vendor_sales.units + EXCLUDED.units, revenue = vendor_sales.revenue + EXCLUDED.revenue;
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION subtract_vendor_sales_of_deleted_lines() RETURNS TRIGGER AS $$
+BEGIN
+	INSERT INTO vendor_sales(vendor_id, slot, units, revenue)
+	SELECT product.vendor_id, pg_backend_pid() % 8, -SUM(line.amount), SUM(line.unit_price * -line.amount)
+	FROM deleted_lines AS line
+	JOIN product ON product.id = line.product_id
+	WHERE product.vendor_id IS NOT NULL
+	GROUP BY product.vendor_id
+	ORDER BY product.vendor_id
+	ON CONFLICT (vendor_id, slot) DO UPDATE
+	SET units = vendor_sales.units + EXCLUDED.units, revenue = vendor_sales.revenue + EXCLUDED.revenue;
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION update_vendor_sales_of_updated_lines() RETURNS TRIGGER AS $$
+BEGIN
+	INSERT INTO vendor_sales(vendor_id, slot, units, revenue)
+	SELECT product.vendor_id, pg_backend_pid() % 8, SUM(line.amount), SUM(line.revenue)
+	FROM (
+		SELECT product_id, amount, unit_price * amount AS revenue FROM inserted_lines
+		UNION ALL
+		SELECT product_id, -amount, unit_price * -amount FROM deleted_lines
+	) AS line
+	JOIN product ON product.id = line.product_id
+	WHERE product.vendor_id IS NOT NULL
+	GROUP BY product.vendor_id
+	ORDER BY product.vendor_id
+	ON CONFLICT (vendor_id, slot) DO UPDATE
+	SET units = vendor_sales.units + EXCLUDED.units, revenue = vendor_sales.revenue + EXCLUDED.revenue;
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER product_orders_vendor_sales_insert AFTER INSERT ON product_orders
+	REFERENCING NEW TABLE AS inserted_lines
+	FOR EACH STATEMENT EXECUTE FUNCTION add_vendor_sales_of_inserted_lines();
+CREATE TRIGGER product_orders_vendor_sales_delete AFTER DELETE ON product_orders
+	REFERENCING OLD TABLE AS deleted_lines
+	FOR EACH STATEMENT EXECUTE FUNCTION subtract_vendor_sales_of_deleted_lines();
+CREATE TRIGGER product_orders_vendor_sales_update AFTER UPDATE ON product_orders
+	REFERENCING OLD TABLE AS deleted_lines NEW TABLE AS inserted_lines
+	FOR EACH STATEMENT EXECUTE FUNCTION update_vendor_sales_of_updated_lines();
+
+-- Sales follow a product when it moves to another vendor, so the aggregate always equals
+-- summing product_orders joined with product. This reads all lines of the product, which is rare.
+CREATE FUNCTION move_vendor_sales_of_product() RETURNS TRIGGER AS $$
+BEGIN
+	-- A changed vendor id cascades to its products and to vendor_sales alike, nothing has to move
+	IF OLD.vendor_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM vendor WHERE id = OLD.vendor_id) THEN
+		RETURN NULL;
+	END IF;
+	INSERT INTO vendor_sales(vendor_id, slot, units, revenue)
+	SELECT moved.vendor_id, pg_backend_pid() % 8, moved.sign * SUM(line.amount), moved.sign * SUM(line.unit_price * line.amount)
+	FROM product_orders AS line,
+		(VALUES (OLD.vendor_id, -1), (NEW.vendor_id, 1)) AS moved(vendor_id, sign)
+	WHERE line.product_id = NEW.id AND moved.vendor_id IS NOT NULL
+	GROUP BY moved.vendor_id, moved.sign
+	ORDER BY moved.vendor_id
+	ON CONFLICT (vendor_id, slot) DO UPDATE
+	SET units = vendor_sales.units + EXCLUDED.units, revenue = vendor_sales.revenue + EXCLUDED.revenue;
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER product_vendor_sales_move AFTER UPDATE OF vendor_id ON product
+	FOR EACH ROW WHEN (OLD.vendor_id IS DISTINCT FROM NEW.vendor_id)
+	EXECUTE FUNCTION move_vendor_sales_of_product();
+
+COMMIT;
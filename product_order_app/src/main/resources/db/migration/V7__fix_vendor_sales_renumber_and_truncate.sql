@@ -0,0 +1,43 @@
+BEGIN;
+
+-- A renumbered product cascades its new id to its order lines. The old id no longer exists then, so the old
+-- half of the delta found no vendor and only the new half was added. The lines keep their vendor, and a vendor
+-- change in the same statement is moved by product_vendor_sales_move, so such a statement changes nothing here.
+-- Only a cascade can leave a line pointing to a missing product, the foreign key prevents it otherwise.
+CREATE OR REPLACE FUNCTION update_vendor_sales_of_updated_lines() RETURNS TRIGGER AS $$
+BEGIN
+	IF EXISTS (
+		SELECT 1 FROM deleted_lines AS line
+		WHERE NOT EXISTS (SELECT 1 FROM product WHERE product.id = line.product_id)
+	) THEN
+		RETURN NULL;
+	END IF;
+	INSERT INTO vendor_sales(vendor_id, slot, units, revenue)
+	SELECT product.vendor_id, pg_backend_pid() % 8, SUM(line.amount), SUM(line.revenue)
+	FROM (
+		SELECT product_id, amount, unit_price * amount AS revenue FROM inserted_lines
+		UNION ALL
+		SELECT product_id, -amount, unit_price * -amount FROM deleted_lines
+	) AS line
+	JOIN product ON product.id = line.product_id
+	WHERE product.vendor_id IS NOT NULL
+	GROUP BY product.vendor_id
+	ORDER BY product.vendor_id
+	ON CONFLICT (vendor_id, slot) DO UPDATE
+	SET units = vendor_sales.units + EXCLUDED.units, revenue = vendor_sales.revenue + EXCLUDED.revenue;
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- TRUNCATE fires no row or transition table triggers, without this the aggregate kept the old sales
+CREATE FUNCTION clear_vendor_sales() RETURNS TRIGGER AS $$
+BEGIN
+	DELETE FROM vendor_sales;
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER product_orders_vendor_sales_truncate AFTER TRUNCATE ON product_orders
+	FOR EACH STATEMENT EXECUTE FUNCTION clear_vendor_sales();
+
+COMMIT;